@@ -3,10 +3,18 @@ package alphaBeta;
 /* We need stuff from the reversi framework. */
 import reversi.*;
 
+/* And the move ordering, the evaluators and the square values shared with other players. */
+import player.DiscDifferenceEvaluator;
+import player.Evaluator;
+import player.EvaluatorConfig;
+import player.MoveOrdering;
+import lookOneAheadPlayer.LookOneAheadPlayer;
+
 
 /**
  * This is just a dummy player to show off the alpha-beta-pruning. It's
- * evaluation function is as thumb as 5 meters of field path by night.
+ * evaluation function is as thumb as 5 meters of field path by night,
+ * unless it is given a better one (see player.Evaluator).
  * 
  * @author Jonas Huber
  * @author Benedikt Koeppel
@@ -26,13 +34,6 @@ public class AlphaBeta implements ReversiPlayer {
 	 */
 	private final long MAX_DEPTH = 4;
 	
-	/*
-	 * The size of the game board (number of fields in one direction). There
-	 * should not be any need to change this, but better prepare for the un-
-	 * expected...
-	 */
-	private final int SIZE = 8;
-	
 	/* 
 	 * Timeout and the own color are set by the framework with initialize().
 	 * And because it is a useful information, we have also the other
@@ -48,6 +49,30 @@ public class AlphaBeta implements ReversiPlayer {
 	/* This stores the coordinates of the best move found. */
 	Coordinates bestMove = null;
 	
+	/* The move ordering, so that alpha-beta can cut off early. */
+	private MoveOrdering ordering;
+	
+	/* Our evaluation function. */
+	private final Evaluator evaluator;
+	
+	/**
+	 * Creates a player with the evaluation function chosen by the property
+	 * player.eval (see player.EvaluatorConfig), or which counts the stones
+	 * (see player.DiscDifferenceEvaluator) if that is not set.
+	 */
+	public AlphaBeta() {
+		this( EvaluatorConfig.getEvaluator( new DiscDifferenceEvaluator() ) );
+	} /* End of constructor AlphaBeta(). */
+	
+	/**
+	 * Creates a player with the given evaluation function.
+	 * 
+	 * @param evaluator The evaluation function.
+	 */
+	public AlphaBeta( Evaluator evaluator ) {
+		this.evaluator = evaluator;
+	} /* End of constructor AlphaBeta(). */
+	
 	/**
 	 * This method is called by the framework at the beginning of a game
 	 * and it allows the color of this player and the move timeout to be
@@ -72,6 +97,9 @@ public class AlphaBeta implements ReversiPlayer {
 			enemyColor = GameBoard.RED;
 		}
 		
+		/* Initialize the move ordering. */
+		ordering = new MoveOrdering( LookOneAheadPlayer.VALUE_FIELD );
+		
 	} /* End of initialize(). */
 
 	
@@ -89,7 +117,7 @@ public class AlphaBeta implements ReversiPlayer {
 		startTime = System.currentTimeMillis();
 		
 		/* Storing the current situation in a new object. */
-		TextGameBoard currentBoard = new TextGameBoard( gb );
+		BitGameBoard currentBoard = new BitGameBoard( gb );
 		
 		/* Does a move exist? */
 		if ( !currentBoard.isMoveAvailable( ownColor ) ) {
@@ -129,7 +157,7 @@ public class AlphaBeta implements ReversiPlayer {
 	 * @param depth The current depth.
 	 * @return The value of this node.
 	 */
-	private double maxValue( TextGameBoard situation, double alpha, double beta, int depth ) {
+	private double maxValue( BitGameBoard situation, double alpha, double beta, int depth ) {
 		
 		/* 
 		 * Did we reach the maximum depth? 
@@ -140,11 +168,11 @@ public class AlphaBeta implements ReversiPlayer {
 			return evaluate( situation );
 		}
 		
-		/* Copy the current situation in a new TextGameBoard to perform our next move on. */
-		TextGameBoard boardAfterNextMove = new TextGameBoard( situation );
+		/* All our possible moves, one bit per move. */
+		long moves = situation.legalMoves( ownColor );
 		
 		/* Is there a possible move for *us*? */
-		if ( !situation.isMoveAvailable( ownColor) ) {
+		if ( moves == 0 ) {
 			
 			/* If not, we pass, but we go still further down in our tree!
 			 * 
@@ -156,54 +184,57 @@ public class AlphaBeta implements ReversiPlayer {
 		/*
 		 * We need some variables.
 		 */
-		Coordinates coord = null;
+		int square;
+		double result;
 		Coordinates localBestMove = null;
 		
 		 /* Setting bestResult initially to -infty. */
 		double bestResult = Double.NEGATIVE_INFINITY;
 		
 		/*
-		 * Now we iterate over every field and search the move leading to the
-		 * greatest result (we are the max node!).
+		 * Now we iterate over every possible move and search the move leading to the
+		 * greatest result (we are the max node!). The most promising moves come first.
 		 */
-		for ( int row = 1; row <= SIZE; row++ ) {
-			for ( int col = 1; col <= SIZE; col++ ) {
-				
-				/* Preparing the coordinates of this move. */
-				coord = new Coordinates( row, col );
-				
-				/*
-				 * If the move is valid, we do it and check whether it's value is 
-				 * greater than one we've found before. Because this is a max-node
-				 * we use minValue to evaluate the resulting situation.
-				 */
-				if ( boardAfterNextMove.checkMove( ownColor, coord) ) {
-					boardAfterNextMove.makeMove( ownColor, coord );
-					
-					/* Recursion */
-					alpha = minValue( boardAfterNextMove, alpha, beta, depth+1);
-					
-					/* Is this move better than another found before? */
-					if ( alpha > bestResult ) {
-						 localBestMove = coord;
-						 bestResult = alpha;
-					}
-				}
-				
-				/*
-				 * Now we test if we can do a break...
-				 */
-				if ( alpha >= beta ) {
-					//System.out.println("(II) Beta cut!");
-					break;
-				}
-				
-				/*
-				 * Resetting our board!
-				 */
-				boardAfterNextMove.updateBoard( situation );
+		int[] ordered = ordering.order( moves, ownColor, depth, MoveOrdering.NO_MOVE );
+		int count = Long.bitCount( moves );
+		for ( int i = 0; i < count; i++ ) {
+			
+			/* Preparing the square of this move. */
+			square = ordered[ i ];
+			
+			/*
+			 * We do the move and check whether it's value is greater than one
+			 * we've found before. Because this is a max-node we use minValue to
+			 * evaluate the resulting situation.
+			 */
+			situation.play( ownColor, square, situation.flips( ownColor, square ) );
+			
+			/* Recursion */
+			result = minValue( situation, alpha, beta, depth+1);
+			
+			/* Taking the move back instead of copying the board. */
+			situation.undo();
+			
+			/* Is this move better than another found before? */
+			if ( result > bestResult ) {
+				 localBestMove = BitGameBoard.coordinates( square );
+				 bestResult = result;
+			}
+			
+			/* Raising alpha. It must never go down again. */
+			if ( result > alpha ) {
+				alpha = result;
+			}
+			
+			/*
+			 * Now we test if we can do a break...
+			 */
+			if ( alpha >= beta ) {
+				//System.out.println("(II) Beta cut!");
+				ordering.goodMove( ownColor, depth, square, (int)MAX_DEPTH - depth );
+				break;
 			}
-		} /* End of looping through the fields... */
+		} /* End of looping through the moves... */
 		
 		/*
 		 * We would have to return *two* values: The evaluation of the best move found 
@@ -223,7 +254,7 @@ public class AlphaBeta implements ReversiPlayer {
 	 * @param depth The current depth.
 	 * @return The value of this node.
 	 */
-	private double minValue( TextGameBoard situation, double alpha, double beta, int depth ) {
+	private double minValue( BitGameBoard situation, double alpha, double beta, int depth ) {
 		
 		/* 
 		 * Did we reach the maximum depth?
@@ -238,11 +269,11 @@ public class AlphaBeta implements ReversiPlayer {
 		 * TODO: Check for winning/loosing situation, check if game is over, time left, etc.
 		 */
 		
-		/* Copy the current situation in a new TextGameBoard to perform our next move on. */
-		TextGameBoard boardAfterNextMove = new TextGameBoard( situation );
+		/* All possible moves of the enemy, one bit per move. */
+		long moves = situation.legalMoves( enemyColor );
 		
 		/* Is there a possible move for the *enemy*? */
-		if ( !situation.isMoveAvailable( enemyColor ) ) {
+		if ( moves == 0 ) {
 			
 			/* If not, we pass, but we go still further down in our tree! 
 			 * 
@@ -254,41 +285,39 @@ public class AlphaBeta implements ReversiPlayer {
 		/*
 		 * We need some variables.
 		 */
-		Coordinates coord = null;
+		int square;
 		
 		/*
-		 * Now we iterate over every field and search the move leading to the
-		 * lowest result (we are the min node!).
+		 * Now we iterate over every possible move and search the move leading to the
+		 * lowest result (we are the min node!), again the most promising ones first.
 		 */
-		for ( int row = 1; row <= SIZE; row++ ) {
-			for ( int col = 1; col <= SIZE; col++ ) {
-				
-				/* Preparing the coordinates of this move. */
-				coord = new Coordinates( row, col );
-				
-				/*
-				 * If the move is valid, we do it and check whether it's value is 
-				 * greater than one we've found before. Because this is a max-node
-				 * we use minValue to evaluate the resulting situation.
-				 */
-				if ( boardAfterNextMove.checkMove( enemyColor, coord) ) {
-					boardAfterNextMove.makeMove( enemyColor, coord );
-					beta = Math.min( beta, maxValue( boardAfterNextMove, alpha, beta, depth + 1) );
-				}
-				
-				/*
-				 * Check if we can do a break...
-				 */
-				if ( beta <= alpha ) {
-					//System.out.println("(II) Alpha cut!");
-					break;
-				}
-				/*
-				 * Resetting our board!
-				 */
-				boardAfterNextMove.updateBoard( situation );
+		int[] ordered = ordering.order( moves, enemyColor, depth, MoveOrdering.NO_MOVE );
+		int count = Long.bitCount( moves );
+		for ( int i = 0; i < count; i++ ) {
+			
+			/* Preparing the square of this move. */
+			square = ordered[ i ];
+			
+			/*
+			 * We do the move and check whether it's value is lower than one
+			 * we've found before. Because this is a min-node we use maxValue to
+			 * evaluate the resulting situation.
+			 */
+			situation.play( enemyColor, square, situation.flips( enemyColor, square ) );
+			beta = Math.min( beta, maxValue( situation, alpha, beta, depth + 1) );
+			
+			/* Taking the move back instead of copying the board. */
+			situation.undo();
+			
+			/*
+			 * Check if we can do a break...
+			 */
+			if ( beta <= alpha ) {
+				//System.out.println("(II) Alpha cut!");
+				ordering.goodMove( enemyColor, depth, square, (int)MAX_DEPTH - depth );
+				break;
 			}
-		} /* End of looping through the fields... */
+		} /* End of looping through the moves... */
 		
 		return beta;
 	} /* End of minValue(). */
@@ -299,16 +328,13 @@ public class AlphaBeta implements ReversiPlayer {
 	 * @param situation The situation to check.
 	 * @return true if the game is finished, false else.
 	 */
-	private boolean gameOver( TextGameBoard situation ) {
+	private boolean gameOver( BitGameBoard situation ) {
 		
-		/*
-		 * TODO: Maybe here can be found a better (faster) implementation...
-		 */
 		if ( situation.isFull() ) {
 			return true;
 		}
 		
-		if ( situation.isMoveAvailable( ownColor ) || situation.isMoveAvailable( enemyColor ) ) {
+		if ( ( situation.legalMoves( ownColor ) | situation.legalMoves( enemyColor ) ) != 0 ) {
 			return false;
 		}
 		
@@ -331,8 +357,8 @@ public class AlphaBeta implements ReversiPlayer {
 	
 	
 	/**
-	 * This is just a very thumb evaluation function. We don't want to reveal our
-	 * better one right now.
+	 * Lets our evaluator judge the situation. By default it is a very thumb
+	 * one, we don't want to reveal our better one right now.
 	 * 
 	 * NOTE: The evaluation is *always* done from our own perspective, say:
 	 * Greater values are good for us, lower values are bad for us!
@@ -340,9 +366,9 @@ public class AlphaBeta implements ReversiPlayer {
 	 * @param situation The situation to evaluate.
 	 * @return The value of this situation.
 	 */
-	private double evaluate( TextGameBoard situation ) {
+	private double evaluate( BitGameBoard situation ) {
 		
-		return situation.countStones( ownColor ) - situation.countStones( enemyColor );
+		return evaluator.evaluate( situation, ownColor );
 		
 	} /* End of evaluate(). */
 	
@@ -3,11 +3,14 @@ package alphaBeta;
 /* We need stuff from the reversi framework. */
 import reversi.*;
 import lookOneAheadPlayer.*;
+import player.Evaluator;
+import player.EvaluatorConfig;
 
 
 /**
  * This is just a dummy player to show off the alpha-beta-pruning. It uses now
- * the evaluate()-function of LookOneAheadPlayer.
+ * the evaluate()-function of LookOneAheadPlayer, unless it is given another
+ * one (see player.Evaluator).
  * 
  * @author Jonas Huber
  * @author Benedikt Koeppel
@@ -49,6 +52,31 @@ public class AlphaBeta2 extends LookOneAheadPlayer {
 	/* This stores the coordinates of the best move found. */
 	Coordinates bestMove = null;
 	
+	/* The evaluation function we were given, or null for the one of LookOneAheadPlayer. */
+	private final Evaluator evaluator;
+	
+	/* The board the given evaluation function looks at. */
+	private final BitGameBoard evaluatorBoard = new BitGameBoard();
+	
+	/**
+	 * Creates a player with the evaluation function chosen by the property
+	 * player.eval (see player.EvaluatorConfig), or which evaluates like
+	 * LookOneAheadPlayer if that is not set.
+	 */
+	public AlphaBeta2() {
+		this( EvaluatorConfig.getEvaluator( null ) );
+	} /* End of constructor AlphaBeta2(). */
+	
+	/**
+	 * Creates a player with the given evaluation function.
+	 * 
+	 * @param evaluator The evaluation function, or null for the one of
+	 * LookOneAheadPlayer.
+	 */
+	public AlphaBeta2( Evaluator evaluator ) {
+		this.evaluator = evaluator;
+	} /* End of constructor AlphaBeta2(). */
+	
 	/**
 	 * This method is called by the framework at the beginning of a game
 	 * and it allows the color of this player and the move timeout to be
@@ -332,12 +360,17 @@ public class AlphaBeta2 extends LookOneAheadPlayer {
 	
 	
 	/**
-	 * Wrapper around the evaluation-function of LookOneAheadPlayer.
+	 * Wrapper around the evaluation-function of LookOneAheadPlayer, or the
+	 * one we were given.
 	 * @param situation The situation to evaluate.
 	 * @return The value of this situation.
 	 */
 	private double evaluate( TextGameBoard situation ) {
 		
+		if ( evaluator != null ) {
+			evaluatorBoard.updateBoard( situation );
+			return evaluator.evaluate( evaluatorBoard, ownColor );
+		}
 		return super.evaluate( ownColor, situation);
 		
 	} /* End of evaluate(). */
@@ -0,0 +1,103 @@
+package benchmark;
+
+import reversi.*;
+import lookOneAheadPlayer.LookOneAheadPlayer;
+import player.DiscDifferenceEvaluator;
+import player.Evaluator;
+import player.MobilityEvaluator;
+import player.SquareTableEvaluator;
+
+
+/**
+ * Measures how many evaluations per second every Evaluator (see
+ * player.Evaluator) does on the same positions, so that a player can choose
+ * its evaluation function by what it costs:
+ * - the square table of LookOneAheadPlayer,
+ * - the difference of the stones,
+ * - mobility, frontier and corners (see player.Features),
+ * - the net of Lynx, with Math.tanh() and with Tanh.fast(),
+ * - the net of The Net,
+ * - the patterns of Lynx with their default weights.
+ *
+ *   java benchmark.EvaluatorBenchmark [positions [rounds]]
+ *
+ * The defaults are 10000 positions and 50 rounds over them. The positions
+ * come from random games with a fixed seed, so every run uses the same ones,
+ * each seen by the player to move. Every evaluator gets WARM_UP_ROUNDS
+ * rounds first, which aren't counted, so that none pays for the JIT
+ * compiler. Besides the speed we print the mean value, which should lie
+ * between -1 and 1 like for every Evaluator.
+ */
+public class EvaluatorBenchmark {
+
+	/* The rounds run before timing. */
+	private static final int WARM_UP_ROUNDS = 10;
+
+
+	/**
+	 * Runs the benchmark.
+	 *
+	 * @param args The number of positions and of rounds, both optional.
+	 */
+	public static void main( String[] args ) {
+
+		int count = ( args.length > 0 ) ? Integer.parseInt( args[ 0 ] ) : 10000;
+		int rounds = ( args.length > 1 ) ? Integer.parseInt( args[ 1 ] ) : 50;
+
+		BitGameBoard[] boards = new BitGameBoard[ count ];
+		int[] players = new int[ count ];
+		RandomPositions.toMove( boards, players, RandomPositions.SEED, 0, 59 );
+
+		String[] names = {
+				"square table", "disc difference", "mobility", "Lynx net", "Lynx net, fast tanh", "The Net net", "Lynx patterns" };
+		Evaluator[] evaluators = {
+				new SquareTableEvaluator( LookOneAheadPlayer.VALUE_FIELD ),
+				new DiscDifferenceEvaluator(),
+				new MobilityEvaluator(),
+				new lynx.NetEvaluator( false ),
+				new lynx.NetEvaluator( true ),
+				new theNet.NetEvaluator( false ),
+				lynx.PatternEvaluator.getDefault() };
+
+		System.out.println( "(II) " + count + " positions, " + rounds + " rounds" );
+		for ( int e = 0; e < evaluators.length; e++ ) {
+
+			/* The checksums keep the JIT compiler from dropping the evaluations. */
+			double checksum = 0;
+			for ( int round = 0; round < WARM_UP_ROUNDS; round++ ) {
+				checksum += run( evaluators[ e ], boards, players );
+			}
+
+			long start = System.nanoTime();
+			double sum = 0;
+			for ( int round = 0; round < rounds; round++ ) {
+				sum += run( evaluators[ e ], boards, players );
+			}
+			long nanos = System.nanoTime() - start;
+
+			long evaluations = (long)count * rounds;
+			System.out.println( "(II) " + names[ e ] + "\t" + Math.round( evaluations * 1e9 / Math.max( nanos, 1 ) )
+					+ " evaluations/s\t" + Math.round( (double)nanos / evaluations ) + " ns each\tmean value "
+					+ sum / evaluations + "\t(checksum " + ( checksum + sum ) + ")" );
+		}
+
+	} /* End of main(). */
+
+
+	/**
+	 * Evaluates all positions once.
+	 *
+	 * @return The sum of the values.
+	 */
+	private static double run( Evaluator evaluator, BitGameBoard[] boards, int[] players ) {
+
+		double sum = 0;
+		for ( int i = 0; i < boards.length; i++ ) {
+			sum += evaluator.evaluate( boards[ i ], players[ i ] );
+		}
+		return sum;
+
+	} /* End of run(). */
+
+
+} /* End of class EvaluatorBenchmark. */
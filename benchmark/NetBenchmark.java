@@ -0,0 +1,192 @@
+package benchmark;
+
+import reversi.*;
+import lynx.Net;
+import lynx.NetBatch;
+
+
+/**
+ * Measures how many evaluations per second the net of Lynx (see lynx.Net)
+ * does, once through the input vector and the Neurons and once straight from
+ * the bitboards with Net.getOutput( long, long ). Before timing anything it
+ * checks that both give the same answer, to the last bit, for every position.
+ *   Then it does the same for all positions at once with the NetBatch from
+ * NetBatch.create(), which uses the Vector API if src-vector was built and
+ * the module is there (see lynx.NetBatch). Its answers may differ in the
+ * last bit, so it prints the greatest difference.
+ *
+ *   java [--add-modules jdk.incubator.vector] benchmark.NetBenchmark [positions [rounds]]
+ *
+ * The defaults are 10000 positions and 200 rounds over them. The positions
+ * come from random games with a fixed seed, so every run uses the same ones.
+ * The first rounds of each way are run without counting, so that neither one
+ * pays for the JIT compiler.
+ */
+public class NetBenchmark {
+
+	/* The rounds run before timing. */
+	private static final int WARM_UP_ROUNDS = 20;
+
+
+	/**
+	 * Runs the benchmark.
+	 *
+	 * @param args The number of positions and of rounds, both optional.
+	 */
+	public static void main( String[] args ) {
+
+		int count = ( args.length > 0 ) ? Integer.parseInt( args[ 0 ] ) : 10000;
+		int rounds = ( args.length > 1 ) ? Integer.parseInt( args[ 1 ] ) : 200;
+
+		Net net = new Net();
+		BitGameBoard[] boards = new BitGameBoard[ count ];
+		int[] players = new int[ count ];
+		RandomPositions.toMove( boards, players, RandomPositions.SEED, 0, 59 );
+		long[] own = new long[ count ];
+		long[] enemy = new long[ count ];
+		for ( int i = 0; i < count; i++ ) {
+			own[ i ] = boards[ i ].getStones( players[ i ] );
+			enemy[ i ] = boards[ i ].getStones( 3 - players[ i ] );
+		}
+
+		int mismatches = 0;
+		for ( int i = 0; i < count; i++ ) {
+			double before = vectorOutput( net, own[ i ], enemy[ i ] );
+			double after = net.getOutput( own[ i ], enemy[ i ] );
+			if ( Double.doubleToRawLongBits( before ) != Double.doubleToRawLongBits( after ) ) {
+				mismatches++;
+			}
+		}
+		System.out.println( "(II) " + count + " positions, " + mismatches + " different answer(s)" );
+
+		NetBatch batch = NetBatch.create();
+		double[] out = new double[ count ];
+		batch.evaluate( own, enemy, count, out );
+		double maxDifference = 0;
+		for ( int i = 0; i < count; i++ ) {
+			maxDifference = Math.max( maxDifference, Math.abs( out[ i ] - net.getOutput( own[ i ], enemy[ i ] ) ) );
+		}
+		System.out.println( "(II) " + batch.getClass().getSimpleName() + ", greatest difference " + maxDifference );
+
+		/* The checksums keep the JIT compiler from dropping the evaluations. */
+		double checksum = 0;
+		for ( int round = 0; round < WARM_UP_ROUNDS; round++ ) {
+			checksum += runVector( net, own, enemy ) + runBitboards( net, own, enemy ) + runBatch( batch, own, enemy, out );
+		}
+
+		long start = System.nanoTime();
+		for ( int round = 0; round < rounds; round++ ) {
+			checksum += runVector( net, own, enemy );
+		}
+		long vectorNanos = System.nanoTime() - start;
+
+		start = System.nanoTime();
+		for ( int round = 0; round < rounds; round++ ) {
+			checksum += runBitboards( net, own, enemy );
+		}
+		long bitboardNanos = System.nanoTime() - start;
+
+		start = System.nanoTime();
+		for ( int round = 0; round < rounds; round++ ) {
+			checksum += runBatch( batch, own, enemy, out );
+		}
+		long batchNanos = System.nanoTime() - start;
+
+		long evaluations = (long)count * rounds;
+		System.out.println( "(II) input vector\t" + perSecond( evaluations, vectorNanos ) + " evaluations/s" );
+		System.out.println( "(II) bitboards\t" + perSecond( evaluations, bitboardNanos ) + " evaluations/s\tspeedup "
+				+ Math.round( 100.0 * vectorNanos / Math.max( bitboardNanos, 1 ) ) / 100.0 );
+		System.out.println( "(II) " + batch.getClass().getSimpleName() + "\t" + perSecond( evaluations, batchNanos ) + " evaluations/s\tspeedup "
+				+ Math.round( 100.0 * vectorNanos / Math.max( batchNanos, 1 ) ) / 100.0 );
+		System.out.println( "(II) checksum " + checksum );
+
+	} /* End of main(). */
+
+
+	/**
+	 * Evaluates all positions through the input vector.
+	 *
+	 * @return The sum of the answers.
+	 */
+	private static double runVector( Net net, long[] own, long[] enemy ) {
+
+		double sum = 0;
+		for ( int i = 0; i < own.length; i++ ) {
+			sum += vectorOutput( net, own[ i ], enemy[ i ] );
+		}
+		return sum;
+
+	} /* End of runVector(). */
+
+
+	/**
+	 * Evaluates all positions straight from the bitboards.
+	 *
+	 * @return The sum of the answers.
+	 */
+	private static double runBitboards( Net net, long[] own, long[] enemy ) {
+
+		double sum = 0;
+		for ( int i = 0; i < own.length; i++ ) {
+			sum += net.getOutput( own[ i ], enemy[ i ] );
+		}
+		return sum;
+
+	} /* End of runBitboards(). */
+
+
+	/**
+	 * Evaluates all positions with one call of the batch.
+	 *
+	 * @return The sum of the answers.
+	 */
+	private static double runBatch( NetBatch batch, long[] own, long[] enemy, double[] out ) {
+
+		batch.evaluate( own, enemy, own.length, out );
+		double sum = 0;
+		for ( int i = 0; i < out.length; i++ ) {
+			sum += out[ i ];
+		}
+		return sum;
+
+	} /* End of runBatch(). */
+
+
+	/**
+	 * Evaluates a position the way Lynx did before Net.getOutput( long, long ):
+	 * through an input vector of 1, 0 and -1.
+	 *
+	 * @param net The net.
+	 * @param own The stones of the player whose view the answer is from.
+	 * @param enemy The stones of the other player.
+	 * @return The answer of the net.
+	 */
+	private static double vectorOutput( Net net, long own, long enemy ) {
+
+		double[] input = new double[ 64 ];
+		for ( int square = 0; square < 64; square++ ) {
+			if ( ( own & ( 1L << square ) ) != 0 ) {
+				input[ square ] = 1;
+			} else if ( ( enemy & ( 1L << square ) ) != 0 ) {
+				input[ square ] = -1;
+			}
+		}
+
+		try {
+			return net.getOutput( input );
+		} catch ( Exception e ) {
+			throw new IllegalStateException( e );
+		}
+
+	} /* End of vectorOutput(). */
+
+
+	/**
+	 * @return The evaluations per second, rounded.
+	 */
+	private static long perSecond( long evaluations, long nanos ) {
+		return Math.round( evaluations * 1e9 / Math.max( nanos, 1 ) );
+	} /* End of perSecond(). */
+
+
+} /* End of class NetBenchmark. */
@@ -0,0 +1,99 @@
+package benchmark;
+
+import reversi.*;
+import lynx.Config;
+import lynx.Lynx;
+
+import java.util.List;
+
+
+/**
+ * Measures how the parallel searches of Lynx scale with the number of
+ * threads (see Config.getParallel()).
+ *
+ * Lynx searches the same positions to a fixed depth, once with one thread and
+ * then with every scheme and every number of threads up to the given one. For
+ * every run it prints the time and the speedup against one thread. With Lazy
+ * SMP the helpers don't change the tree of the main thread, they only make it
+ * faster through the transposition table, so the time to the same depth is
+ * what counts for both schemes.
+ *
+ *   java benchmark.ParallelSearchBenchmark [depth [threads [positions]]]
+ *
+ * The defaults are depth 8, as many threads as there are processors and 20
+ * positions. The positions come from random games with a fixed seed, so every
+ * run searches the same ones.
+ */
+public class ParallelSearchBenchmark {
+
+	/* The time Lynx gets for a move. It has to be enough to reach the depth. */
+	private static final long TIMEOUT = 600000;
+
+	/* The moves played before a position is taken. Later ones are solved, see Lynx. */
+	private static final int MIN_PLIES = 12;
+	private static final int MAX_PLIES = 30;
+
+
+	/**
+	 * Runs the benchmark.
+	 *
+	 * @param args The depth, the greatest number of threads and the number of
+	 * positions, all optional.
+	 */
+	public static void main( String[] args ) {
+
+		int depth = ( args.length > 0 ) ? Integer.parseInt( args[ 0 ] ) : 8;
+		int maxThreads = ( args.length > 1 ) ? Integer.parseInt( args[ 1 ] ) : Runtime.getRuntime().availableProcessors();
+		int count = ( args.length > 2 ) ? Integer.parseInt( args[ 2 ] ) : 20;
+
+		List<TextGameBoard> positions = RandomPositions.redToMove( count, RandomPositions.SEED, MIN_PLIES, MAX_PLIES );
+		System.setProperty( "lynx.depth", Integer.toString( depth ) );
+		System.out.println( "(II) " + positions.size() + " positions, depth " + depth + ", "
+				+ Runtime.getRuntime().availableProcessors() + " processors" );
+
+		/* Once without counting, so that the first run doesn't pay for the JIT compiler. */
+		run( positions, Config.PARALLEL_NONE, 1 );
+
+		long serial = run( positions, Config.PARALLEL_NONE, 1 );
+		System.out.println( "(II) " + Config.PARALLEL_NONE + "\t1 thread(s)\t" + serial + " ms" );
+
+		String[] schemes = { Config.PARALLEL_YBWC, Config.PARALLEL_LAZY_SMP };
+		for ( int s = 0; s < schemes.length; s++ ) {
+			for ( int threads = 2; threads <= maxThreads; threads++ ) {
+				long time = run( positions, schemes[ s ], threads );
+				System.out.println( "(II) " + schemes[ s ] + "\t" + threads + " thread(s)\t" + time + " ms\tspeedup "
+						+ Math.round( 100.0 * serial / Math.max( time, 1 ) ) / 100.0 );
+			}
+		}
+
+	} /* End of main(). */
+
+
+	/**
+	 * Lets a new Lynx make a move in every position.
+	 *
+	 * @param positions The positions.
+	 * @param parallel The parallel scheme.
+	 * @param threads The number of threads.
+	 * @return The time used in ms.
+	 */
+	private static long run( List<TextGameBoard> positions, String parallel, int threads ) {
+
+		System.setProperty( "lynx.parallel", parallel );
+		System.setProperty( "lynx.threads", Integer.toString( threads ) );
+
+		long time = 0;
+		for ( TextGameBoard position : positions ) {
+			Lynx lynx = new Lynx();
+			lynx.initialize( GameBoard.RED, TIMEOUT );
+
+			long start = System.currentTimeMillis();
+			lynx.nextMove( position );
+			time += System.currentTimeMillis() - start;
+		}
+		return time;
+
+	} /* End of run(). */
+
+
+} /* End of class ParallelSearchBenchmark. */
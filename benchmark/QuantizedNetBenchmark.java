@@ -0,0 +1,184 @@
+package benchmark;
+
+import reversi.*;
+import lynx.Config;
+import lynx.Lynx;
+import lynx.Net;
+import lynx.QuantizedNet;
+
+import java.util.List;
+
+
+/**
+ * Reports how well the quantized net of Lynx (lynx.QuantizedNet) agrees with
+ * the net in doubles (lynx.Net), and how fast it is.
+ *
+ * 1. The answers: Both nets evaluate the same random positions; we print the
+ *    greatest and the mean difference and the evaluations per second.
+ * 2. The best move after one ply: For every position both nets choose the
+ *    move after which they like the situation best; we count how often the
+ *    choices agree.
+ * 3. The search: Lynx searches positions to a fixed depth, once with
+ *    lynx.net=float and once with lynx.net=quantized (see Config.getNet());
+ *    we count how often it chooses the same move and compare the time.
+ *
+ *   java benchmark.QuantizedNetBenchmark [depth [positions [searches]]]
+ *
+ * The defaults are depth 7, 10000 positions for 1. and 2. and 40 of them for
+ * 3. The positions come from random games with a fixed seed.
+ */
+public class QuantizedNetBenchmark {
+
+	/* The time Lynx gets for a move. It has to be enough to reach the depth. */
+	private static final long TIMEOUT = 600000;
+
+	/* The rounds over all positions when measuring the speed. */
+	private static final int ROUNDS = 100;
+
+
+	/**
+	 * Runs the benchmark.
+	 *
+	 * @param args The depth, the number of positions and the number of
+	 * searches, all optional.
+	 */
+	public static void main( String[] args ) {
+
+		int depth = ( args.length > 0 ) ? Integer.parseInt( args[ 0 ] ) : 7;
+		int count = ( args.length > 1 ) ? Integer.parseInt( args[ 1 ] ) : 10000;
+		int searches = ( args.length > 2 ) ? Integer.parseInt( args[ 2 ] ) : 40;
+
+		Net net = new Net();
+		List<TextGameBoard> positions = RandomPositions.redToMove( count, RandomPositions.SEED, 0, 38 );
+		long[] own = new long[ count ];
+		long[] enemy = new long[ count ];
+		for ( int i = 0; i < count; i++ ) {
+			BitGameBoard board = new BitGameBoard( positions.get( i ) );
+			own[ i ] = board.getStones( GameBoard.RED );
+			enemy[ i ] = board.getStones( GameBoard.GREEN );
+		}
+
+		/* 1. The answers. */
+		double maxDifference = 0;
+		double sumDifference = 0;
+		for ( int i = 0; i < count; i++ ) {
+			double difference = Math.abs( (double)QuantizedNet.getScore( own[ i ], enemy[ i ] ) / QuantizedNet.ONE
+					- net.getOutput( own[ i ], enemy[ i ] ) );
+			maxDifference = Math.max( maxDifference, difference );
+			sumDifference += difference;
+		}
+		System.out.println( "(II) " + count + " positions: greatest difference " + maxDifference
+				+ ", mean difference " + sumDifference / count );
+
+		double checksum = 0;
+		long floatNanos = 0;
+		long quantizedNanos = 0;
+		for ( int round = 0; round < 2; round++ ) {
+			long start = System.nanoTime();
+			for ( int r = 0; r < ROUNDS; r++ ) {
+				for ( int i = 0; i < count; i++ ) {
+					checksum += net.getOutput( own[ i ], enemy[ i ] );
+				}
+			}
+			floatNanos = System.nanoTime() - start;
+
+			start = System.nanoTime();
+			for ( int r = 0; r < ROUNDS; r++ ) {
+				for ( int i = 0; i < count; i++ ) {
+					checksum += QuantizedNet.getScore( own[ i ], enemy[ i ] );
+				}
+			}
+			quantizedNanos = System.nanoTime() - start;
+		}
+		long evaluations = (long)count * ROUNDS;
+		System.out.println( "(II) Net\t" + Math.round( evaluations * 1e9 / floatNanos ) + " evaluations/s" );
+		System.out.println( "(II) QuantizedNet\t" + Math.round( evaluations * 1e9 / quantizedNanos ) + " evaluations/s\t(checksum " + checksum + ")" );
+
+		/* 2. The best move after one ply. */
+		int agree = 0;
+		for ( int i = 0; i < count; i++ ) {
+			if ( bestMove( own[ i ], enemy[ i ], net, false ) == bestMove( own[ i ], enemy[ i ], net, true ) ) {
+				agree++;
+			}
+		}
+		System.out.println( "(II) Best move after one ply: " + agree + " of " + count + " agree ("
+				+ Math.round( 1000.0 * agree / count ) / 10.0 + "%)" );
+
+		/* 3. The search. */
+		System.setProperty( "lynx.depth", Integer.toString( depth ) );
+		System.setProperty( "lynx.parallel", Config.PARALLEL_NONE );
+		List<TextGameBoard> searched = positions.subList( 0, Math.min( searches, count ) );
+		Coordinates[] floatMoves = new Coordinates[ searched.size() ];
+		Coordinates[] quantizedMoves = new Coordinates[ searched.size() ];
+		search( searched, Config.NET_FLOAT, floatMoves );
+		long floatTime = search( searched, Config.NET_FLOAT, floatMoves );
+		long quantizedTime = search( searched, Config.NET_QUANTIZED, quantizedMoves );
+
+		agree = 0;
+		for ( int i = 0; i < searched.size(); i++ ) {
+			if ( floatMoves[ i ].getRow() == quantizedMoves[ i ].getRow() && floatMoves[ i ].getCol() == quantizedMoves[ i ].getCol() ) {
+				agree++;
+			}
+		}
+		System.out.println( "(II) Search to depth " + depth + ": " + agree + " of " + searched.size() + " moves agree" );
+		System.out.println( "(II) float " + floatTime + " ms, quantized " + quantizedTime + " ms" );
+
+	} /* End of main(). */
+
+
+	/**
+	 * Chooses the move of RED after which a net likes the situation best.
+	 *
+	 * @param red The stones of RED, who is to move.
+	 * @param green The stones of GREEN.
+	 * @param net The net in doubles.
+	 * @param quantized true for the QuantizedNet, false for the net.
+	 * @return The square of the move.
+	 */
+	private static int bestMove( long red, long green, Net net, boolean quantized ) {
+
+		int best = -1;
+		double bestValue = Double.NEGATIVE_INFINITY;
+		for ( long moves = BitGameBoard.legalMoves( red, green ); moves != 0; moves &= moves - 1 ) {
+			int square = Long.numberOfTrailingZeros( moves );
+			long flips = BitGameBoard.flips( red, green, square );
+			long newRed = red | flips | ( 1L << square );
+			long newGreen = green & ~flips;
+			double value = quantized ? QuantizedNet.getScore( newRed, newGreen ) : net.getOutput( newRed, newGreen );
+			if ( value > bestValue ) {
+				bestValue = value;
+				best = square;
+			}
+		}
+		return best;
+
+	} /* End of bestMove(). */
+
+
+	/**
+	 * Lets a new Lynx make a move in every position.
+	 *
+	 * @param positions The positions.
+	 * @param kind The setting lynx.net.
+	 * @param moves Gets the moves.
+	 * @return The time used in ms.
+	 */
+	private static long search( List<TextGameBoard> positions, String kind, Coordinates[] moves ) {
+
+		System.setProperty( "lynx.net", kind );
+
+		long time = 0;
+		for ( int i = 0; i < positions.size(); i++ ) {
+			Lynx lynx = new Lynx();
+			lynx.initialize( GameBoard.RED, TIMEOUT );
+
+			long start = System.currentTimeMillis();
+			moves[ i ] = lynx.nextMove( positions.get( i ) );
+			time += System.currentTimeMillis() - start;
+		}
+		return time;
+
+	} /* End of search(). */
+
+
+} /* End of class QuantizedNetBenchmark. */
@@ -0,0 +1,112 @@
+package benchmark;
+
+import reversi.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+
+/**
+ * The positions the benchmarks measure with: every one comes from a random
+ * game of a random number of plies. The games depend only on the seed, so a
+ * benchmark that passes the same seed gets the same positions in every run.
+ */
+final class RandomPositions {
+
+	/* The seed the benchmarks use. */
+	static final long SEED = 4711;
+
+
+	/* Nobody needs an instance. */
+	private RandomPositions() {
+	} /* End of constructor RandomPositions(). */
+
+
+	/**
+	 * Plays random games on BitGameBoards and takes the position after each,
+	 * with the player to move. If that player has no move, the position is
+	 * taken all the same.
+	 *
+	 * @param boards Gets the positions.
+	 * @param players Gets the players to move.
+	 * @param seed The seed of the random numbers.
+	 * @param minPlies The fewest plies of a game.
+	 * @param maxPlies The most plies of a game.
+	 */
+	static void toMove( BitGameBoard[] boards, int[] players, long seed, int minPlies, int maxPlies ) {
+
+		Random rnd = new Random( seed );
+		for ( int i = 0; i < boards.length; i++ ) {
+			BitGameBoard board = new BitGameBoard();
+			int player = GameBoard.RED;
+			int plies = minPlies + rnd.nextInt( maxPlies - minPlies + 1 );
+
+			for ( int ply = 0; ply < plies; ply++ ) {
+				long moves = board.legalMoves( player );
+				if ( moves != 0 ) {
+					/* Takes the n-th legal move. */
+					for ( int n = rnd.nextInt( Long.bitCount( moves ) ); n > 0; n-- ) {
+						moves &= moves - 1;
+					}
+					int square = Long.numberOfTrailingZeros( moves );
+					board.play( player, square, board.flips( player, square ) );
+				}
+				player = ( player == GameBoard.RED ) ? GameBoard.GREEN : GameBoard.RED;
+			}
+
+			boards[ i ] = board;
+			players[ i ] = player;
+		}
+
+	} /* End of toMove(). */
+
+
+	/**
+	 * Plays random games on TextGameBoards, for benchmarks that let a player
+	 * move, and keeps the positions where RED is to move and has a move. The
+	 * games have an even number of plies, so RED is always the one to move.
+	 *
+	 * @param count The number of positions.
+	 * @param seed The seed of the random numbers.
+	 * @param minPlies The fewest plies of a game, even.
+	 * @param maxPlies The most plies of a game.
+	 * @return The positions.
+	 */
+	static List<TextGameBoard> redToMove( int count, long seed, int minPlies, int maxPlies ) {
+
+		Random rnd = new Random( seed );
+		List<TextGameBoard> positions = new ArrayList<TextGameBoard>();
+		while ( positions.size() < count ) {
+			TextGameBoard board = new TextGameBoard();
+			int player = GameBoard.RED;
+			int plies = minPlies + 2 * rnd.nextInt( ( maxPlies - minPlies ) / 2 + 1 );
+
+			for ( int i = 0; i < plies; i++ ) {
+				List<Coordinates> moves = new ArrayList<Coordinates>();
+				for ( int row = 1; row <= 8; row++ ) {
+					for ( int col = 1; col <= 8; col++ ) {
+						Coordinates c = new Coordinates( row, col );
+						if ( board.checkMove( player, c ) ) {
+							moves.add( c );
+						}
+					}
+				}
+				if ( !moves.isEmpty() ) {
+					/* The board wants the move checked right before it is made. */
+					Coordinates move = moves.get( rnd.nextInt( moves.size() ) );
+					board.checkMove( player, move );
+					board.makeMove( player, move );
+				}
+				player = ( player == GameBoard.RED ) ? GameBoard.GREEN : GameBoard.RED;
+			}
+
+			if ( player == GameBoard.RED && board.isMoveAvailable( GameBoard.RED ) ) {
+				positions.add( board );
+			}
+		}
+		return positions;
+
+	} /* End of redToMove(). */
+
+} /* End of class RandomPositions. */
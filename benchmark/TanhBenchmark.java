@@ -0,0 +1,162 @@
+package benchmark;
+
+import reversi.*;
+import lynx.Config;
+import lynx.Lynx;
+import lynx.Tanh;
+
+import java.util.List;
+import java.util.Random;
+
+
+/**
+ * Checks the fast hyperbolic tangent of Lynx and The Net (lynx.Tanh) and
+ * measures what it brings.
+ *
+ * 1. The error: It is compared with Math.tanh() on a fine grid over
+ *    [-12, 12] and at random points; the greatest difference has to stay
+ *    within MAX_ERROR.
+ * 2. The speed: Calls per second of Math.tanh() and of lynx.Tanh.fast().
+ * 3. The moves: Lynx searches the same positions to a fixed depth, once with
+ *    lynx.tanh=exact and once with lynx.tanh=fast (see Config.getTanh()),
+ *    and we count the positions where it picks another move and the time.
+ *    With the defaults these positions are the regression set, on which
+ *    every move has to be the same.
+ *
+ *   java benchmark.TanhBenchmark [depth [positions]]
+ *
+ * The defaults are depth 6 and 40 positions from random games with a fixed
+ * seed. The program exits with status 1 if an error is too big or if a move
+ * differs.
+ */
+public class TanhBenchmark {
+
+	/* The time Lynx gets for a move. It has to be enough to reach the depth. */
+	private static final long TIMEOUT = 600000;
+
+	/* The moves played before a position is taken. Later ones are solved, see Lynx. */
+	private static final int MIN_PLIES = 8;
+	private static final int MAX_PLIES = 30;
+
+	/* The arguments for the speed test. */
+	private static final int CALLS = 10000000;
+
+
+	/**
+	 * Runs the benchmark.
+	 *
+	 * @param args The depth and the number of positions, both optional.
+	 */
+	public static void main( String[] args ) {
+
+		int depth = ( args.length > 0 ) ? Integer.parseInt( args[ 0 ] ) : 6;
+		int count = ( args.length > 1 ) ? Integer.parseInt( args[ 1 ] ) : 40;
+
+		/* 1. The error. */
+		Random rnd = new Random( 4711 );
+		double error = 0;
+		for ( int i = -12000000; i <= 12000000; i++ ) {
+			double x = i * 1e-6;
+			error = Math.max( error, Math.abs( Tanh.fast( x ) - Math.tanh( x ) ) );
+		}
+		for ( int i = 0; i < 1000000; i++ ) {
+			double x = ( rnd.nextDouble() - 0.5 ) * 100;
+			error = Math.max( error, Math.abs( Tanh.fast( x ) - Math.tanh( x ) ) );
+		}
+		System.out.println( "(II) Tanh: greatest error " + error + ", allowed " + Tanh.MAX_ERROR );
+		boolean ok = error <= Tanh.MAX_ERROR;
+
+		/* 2. The speed, twice so that the second round is compiled. */
+		double[] arguments = new double[ 4096 ];
+		for ( int i = 0; i < arguments.length; i++ ) {
+			arguments[ i ] = rnd.nextGaussian() * 2;
+		}
+		for ( int round = 0; round < 2; round++ ) {
+			double checksum = 0;
+			long start = System.nanoTime();
+			for ( int i = 0; i < CALLS; i++ ) {
+				checksum += Math.tanh( arguments[ i & 4095 ] );
+			}
+			long exactNanos = System.nanoTime() - start;
+
+			start = System.nanoTime();
+			for ( int i = 0; i < CALLS; i++ ) {
+				checksum += Tanh.fast( arguments[ i & 4095 ] );
+			}
+			long fastNanos = System.nanoTime() - start;
+
+			if ( round == 1 ) {
+				System.out.println( "(II) Math.tanh()\t" + perSecond( exactNanos ) + " calls/s" );
+				System.out.println( "(II) Tanh.fast()\t" + perSecond( fastNanos ) + " calls/s\t(checksum " + checksum + ")" );
+			}
+		}
+
+		/* 3. The moves. */
+		List<TextGameBoard> positions = RandomPositions.redToMove( count, RandomPositions.SEED, MIN_PLIES, MAX_PLIES );
+		System.setProperty( "lynx.depth", Integer.toString( depth ) );
+		System.setProperty( "lynx.parallel", Config.PARALLEL_NONE );
+		search( positions, Config.TANH_EXACT, new Coordinates[ count ] );
+
+		Coordinates[] exactMoves = new Coordinates[ count ];
+		Coordinates[] fastMoves = new Coordinates[ count ];
+		long exactTime = search( positions, Config.TANH_EXACT, exactMoves );
+		long fastTime = search( positions, Config.TANH_FAST, fastMoves );
+
+		int different = 0;
+		for ( int i = 0; i < count; i++ ) {
+			if ( exactMoves[ i ].getRow() != fastMoves[ i ].getRow() || exactMoves[ i ].getCol() != fastMoves[ i ].getCol() ) {
+				System.out.println( "(WW) Position " + i + ": " + exactMoves[ i ] + " exact, " + fastMoves[ i ] + " fast" );
+				different++;
+			}
+		}
+		System.out.println( "(II) " + count + " positions, depth " + depth + ": " + different + " other move(s)" );
+		System.out.println( "(II) exact " + exactTime + " ms, fast " + fastTime + " ms" );
+
+		if ( !ok ) {
+			System.out.println( "(EE) The fast tanh is less exact than documented!" );
+		}
+		if ( different > 0 ) {
+			System.out.println( "(EE) The fast tanh made Lynx choose " + different + " other move(s)!" );
+		}
+		if ( !ok || different > 0 ) {
+			System.exit( 1 );
+		}
+
+	} /* End of main(). */
+
+
+	/**
+	 * Lets a new Lynx make a move in every position.
+	 *
+	 * @param positions The positions.
+	 * @param tanh The setting lynx.tanh.
+	 * @param moves Gets the moves.
+	 * @return The time used in ms.
+	 */
+	private static long search( List<TextGameBoard> positions, String tanh, Coordinates[] moves ) {
+
+		System.setProperty( "lynx.tanh", tanh );
+
+		long time = 0;
+		for ( int i = 0; i < positions.size(); i++ ) {
+			Lynx lynx = new Lynx();
+			lynx.initialize( GameBoard.RED, TIMEOUT );
+
+			long start = System.currentTimeMillis();
+			moves[ i ] = lynx.nextMove( positions.get( i ) );
+			time += System.currentTimeMillis() - start;
+		}
+		return time;
+
+	} /* End of search(). */
+
+
+	/**
+	 * @return The calls per second, rounded.
+	 */
+	private static long perSecond( long nanos ) {
+		return Math.round( CALLS * 1e9 / Math.max( nanos, 1 ) );
+	} /* End of perSecond(). */
+
+
+} /* End of class TanhBenchmark. */
@@ -23,9 +23,11 @@ import reversi.TextGameBoard;
 public class LookOneAheadPlayer extends Player {
 	
 	/**
-	 * The value of each field on the gameboard
+	 * The value of each field on the gameboard, indexed [row-1][col-1]. It is
+	 * also used by other players, e.g. to order their moves (see
+	 * player.MoveOrdering).
 	 */
-	protected int[][] valueField = {
+	public static final int[][] VALUE_FIELD = {
 			{	9999,	5,		500,	200,	200,	500,	5,		9999	},
 			{	5,		1,		50,		150,	150,	50,		1,		5		},
 			{	500,	50,		250,	100,	100,	250,	50,		500		},
@@ -36,12 +38,27 @@ public class LookOneAheadPlayer extends Player {
 			{	9999,	5,		500,	200,	200,	500,	5,		9999	}
 	};
 
+	/**
+	 * The value of each field on the gameboard
+	 */
+	protected int[][] valueField = VALUE_FIELD;
+
 	/**
 	 * how many fields have to be free (maximum) to change to Maximum-Strategy
 	 * 
 	 * TODO: Experimented a bit and found 20 to be a good value... ;-)
 	 */
 	protected int changeToMaxStrategyThreshold = 20;
+	
+	/*
+	 * The squares evaluate() weighs, grouped by their weight: weightMasks[i]
+	 * has a bit for every square (see reversi.BitGameBoard.square()) of
+	 * weight weights[i]. They are made from maskedField, which is valueField
+	 * unless a subclass has set another table since.
+	 */
+	private int[][] maskedField;
+	private long[] weightMasks;
+	private int[] weights;
 		
 	/**
 	 * This method looks one move ahead and then makes the move which has
@@ -360,39 +377,105 @@ public class LookOneAheadPlayer extends Player {
 		return quality;  
 	}
 	
+	/**
+	 * Evaluates a situation by the values of the squares (see valueField)
+	 * plus 2*evaluateMinMax().
+	 * 
+	 * This used to look at every square through a new Coordinates object. It
+	 * now works on the stones as bit masks and adds up each weight times the
+	 * difference of two popcounts, with the same result to the last unit:
+	 * - The squares are looked up as ( row-1, col-1 ) for row and col from 1
+	 *   to 7, where a 0 is out of bounds and skipped, and weighed with
+	 *   valueField[row][col]. So only the squares (1,1) to (6,6) count, each
+	 *   with the value of the square one row and one column further on.
+	 * - The squares of this.color count for us, all other stones against us,
+	 *   whatever p is.
+	 * 
+	 * @param p The color of the player we're interested in.
+	 * @param tgb The TextGameBoard to evaluate.
+	 * @return An integer representing the good- or badness of the situation.
+	 */
 	protected int evaluate( int p, TextGameBoard tgb ) {
+		
+		long red = tgb.getStones( GameBoard.RED );
+		long green = tgb.getStones( GameBoard.GREEN );
+		
+		/* Our squares are the ones of this.color, which even might be EMPTY. */
+		long own = getSquares( this.color, red, green );
+		long other = ( red | green ) & ~own;
+		
+		if ( maskedField != valueField ) {
+			initWeightMasks();
+		}
 		int result = 0;
+		for ( int i = 0; i < weights.length; i++ ) {
+			result += weights[ i ] * ( Long.bitCount( own & weightMasks[ i ] ) - Long.bitCount( other & weightMasks[ i ] ) );
+		}
 		
-		/*
-		 * check, hwo has played which field, and what's the value of those fields
-		 */
-		int fieldColor;
-		for ( int row=1; row<tgb.getSize(); row++ ) {
-			for ( int col=1; col<tgb.getSize(); col++ ) {
-				try {
-					fieldColor = tgb.getPosition(new Coordinates(row-1,col-1));
-				} catch (OutOfBoundsException e) {
-					// this can't happen
-					continue;
+		result += 2*evaluateMinMax(p, red, green);
+		
+		return result;
+	}
+	
+	/**
+	 * @param color GameBoard.RED, GameBoard.GREEN or GameBoard.EMPTY.
+	 * @param red The stones of RED.
+	 * @param green The stones of GREEN.
+	 * @return The squares of that color, like tgb.getPosition() == color.
+	 */
+	private static long getSquares( int color, long red, long green ) {
+		
+		if ( color == GameBoard.RED ) {
+			return red;
+		} else if ( color == GameBoard.GREEN ) {
+			return green;
+		} else if ( color == GameBoard.EMPTY ) {
+			return ~( red | green );
+		}
+		return 0;
+		
+	} /* End of getSquares(). */
+	
+	
+	/**
+	 * Groups the squares evaluate() weighs by their weight in valueField, see
+	 * weightMasks.
+	 */
+	private void initWeightMasks() {
+		
+		int[] squareWeights = new int[ 64 ];
+		int count = 0;
+		int[] distinct = new int[ 36 ];
+		for ( int row = 2; row <= 7; row++ ) {
+			for ( int col = 2; col <= 7; col++ ) {
+				int weight = valueField[ row ][ col ];
+				squareWeights[ ( row - 2 ) * 8 + ( col - 2 ) ] = weight;
+				
+				boolean known = false;
+				for ( int i = 0; i < count; i++ ) {
+					known |= distinct[ i ] == weight;
 				}
-				/*
-				 * if the field has our color
-				 */
-				if ( fieldColor == this.color ) {
-					result += valueField[row][col];
-				} else if ( fieldColor != GameBoard.EMPTY ) {
-					/*
-					 * if the field hasn't our color, but isn't empty
-					 */
-					result -= valueField[row][col];
+				if ( !known && weight != 0 ) {
+					distinct[ count++ ] = weight;
+				}
+			}
+		}
+		
+		long[] masks = new long[ count ];
+		for ( int square = 0; square < 64; square++ ) {
+			for ( int i = 0; i < count; i++ ) {
+				if ( squareWeights[ square ] == distinct[ i ] ) {
+					masks[ i ] |= 1L << square;
 				}
 			}
 		}
 		
-		result += 2*evaluateMinMax(p, tgb);
+		weights = new int[ count ];
+		System.arraycopy( distinct, 0, weights, 0, count );
+		weightMasks = masks;
+		maskedField = valueField;
 		
-		return result;
-	}
+	} /* End of initWeightMasks(). */
 	
 	/**
 	 * 
@@ -402,25 +485,36 @@ public class LookOneAheadPlayer extends Player {
 	 */
 	private int evaluateMinMax( int p, TextGameBoard tgb ) {
 		
-		/* This variable is returned at the end of this method. */
-		int result = 0;
+		return evaluateMinMax( p, tgb.getStones( GameBoard.RED ), tgb.getStones( GameBoard.GREEN ) );
+		
+	} /* End of method evaluateGameboard(). */
+	
+	
+	/**
+	 * Like evaluateMinMax( int, TextGameBoard ), but with popcounts of the
+	 * stones instead of scanning the board three times.
+	 * 
+	 * @param p The color of the player we're interested in.
+	 * @param red The stones of RED.
+	 * @param green The stones of GREEN.
+	 * @return An integer representing the good- or badness of the situation.
+	 */
+	private int evaluateMinMax( int p, long red, long green ) {
+		
+		/* The stones of p and of its enemy, see evaluateMaxPlayer(). */
+		int own = Long.bitCount( getSquares( p, red, green ) );
+		int enemy = Long.bitCount( ( p == GameBoard.GREEN ) ? red : green );
 		
 		/*
-		 * if lots of fields are free, play with Minimum-Strategy
+		 * if lots of fields are free, play with Minimum-Strategy (see
+		 * evaluateMinPlayer()), else play offensively (see evaluateMaxPlayer())
 		 */
-		if ( getFreeFields( tgb ) > changeToMaxStrategyThreshold ) {
-			/* Performing a simple MinPlayer-like evaluation... */
-			result = evaluateMinPlayer( p, tgb );
-		} else {
-			/*
-			 * as soon as less than changeToMaxStrategyThreshold fields are free, play offensively
-			 */
-			result = evaluateMaxPlayer( p, tgb );
+		if ( 64 - Long.bitCount( red | green ) > changeToMaxStrategyThreshold ) {
+			return enemy - own;
 		}
+		return own - enemy;
 		
-		return result;
-		
-	} /* End of method evaluateGameboard(). */
+	} /* End of evaluateMinMax(). */
 	
 	
 	/**
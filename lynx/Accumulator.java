@@ -0,0 +1,54 @@
+package lynx;
+
+import reversi.BitGameBoard;
+
+
+/**
+ * An evaluation function that follows the moves of a search and keeps what
+ * it needs up to date move by move, so that evaluating a leaf is cheap (see
+ * NetAccumulator.java and PatternAccumulator.java).
+ *
+ * Every move and every pass is given to it right after it is played on the
+ * board and taken back right after the board takes it back.
+ */
+interface Accumulator {
+
+	/**
+	 * Starts from the given situation. The moves played before are forgotten.
+	 *
+	 * @param board The situation.
+	 */
+	void reset( BitGameBoard board );
+
+
+	/**
+	 * Plays a move, see BitGameBoard.play().
+	 *
+	 * @param player The player who moves.
+	 * @param square The square of the new stone.
+	 * @param flips The stones it flips.
+	 */
+	void play( int player, int square, long flips );
+
+
+	/**
+	 * Plays a pass, see BitGameBoard.pass().
+	 */
+	void pass();
+
+
+	/**
+	 * Takes back the last move or pass.
+	 */
+	void undo();
+
+
+	/**
+	 * Evaluates the current situation like Lynx.evaluate().
+	 *
+	 * @param ownColor The player whose view the value is from.
+	 * @return The value, between -1 and 1.
+	 */
+	double evaluate( int ownColor );
+
+} /* End of interface Accumulator. */
@@ -0,0 +1,247 @@
+package lynx;
+
+
+/**
+ * The settings of Lynx which can be changed without recompiling it, so that
+ * different variants can be played against each other. They are read from
+ * system properties, e.g.
+ *
+ *   java -Dlynx.search=alphabeta reversi.Arena ...
+ *
+ * Every setting is read when a game starts (see Lynx.initialize()). Unknown
+ * values are reported and replaced by the default.
+ */
+public class Config {
+
+	/* The prefix of all our system properties. */
+	private static final String PREFIX = "lynx.";
+
+	/* The possible values of the setting "search". */
+	public static final String SEARCH_PVS = "pvs";
+	public static final String SEARCH_ALPHA_BETA = "alphabeta";
+
+	/* The possible values of the setting "parallel". */
+	public static final String PARALLEL_NONE = "none";
+	public static final String PARALLEL_YBWC = "ybwc";
+	public static final String PARALLEL_LAZY_SMP = "lazysmp";
+
+	/* The possible values of the setting "ponder". */
+	public static final String PONDER_ON = "on";
+	public static final String PONDER_OFF = "off";
+
+	/* The possible values of the setting "eval". */
+	public static final String EVAL_NET = "net";
+	public static final String EVAL_PATTERNS = "patterns";
+
+	/* The possible values of the setting "net". */
+	public static final String NET_FLOAT = "float";
+	public static final String NET_QUANTIZED = "quantized";
+
+	/* The possible values of the setting "tanh". */
+	public static final String TANH_EXACT = "exact";
+	public static final String TANH_FAST = "fast";
+
+
+	/**
+	 * The search algorithm (property lynx.search):
+	 * - "pvs": Negamax Principal Variation Search. The first move of a node
+	 *   is searched with the full window, all other moves with a null window
+	 *   and only searched again if they turn out to be better. (default)
+	 * - "alphabeta": Alpha-beta-search with separate max- and min-nodes.
+	 *
+	 * @return SEARCH_PVS or SEARCH_ALPHA_BETA.
+	 */
+	public static String getSearch() {
+		return getChoice( "search", SEARCH_PVS, new String[] { SEARCH_PVS, SEARCH_ALPHA_BETA } );
+	} /* End of getSearch(). */
+
+
+	/**
+	 * The number of empty squares from which on Lynx solves the endgame
+	 * exactly instead of using the net (property lynx.endgame.empties, default
+	 * 18). 0 turns the endgame solver off.
+	 *
+	 * @return The number of empty squares.
+	 */
+	public static int getEndgameEmpties() {
+		return getInt( "endgame.empties", 18, 0, 60 );
+	} /* End of getEndgameEmpties(). */
+
+
+	/**
+	 * How the search uses more than one thread (property lynx.parallel):
+	 * - "none": One thread searches the whole tree. (default)
+	 * - "ybwc": Young Brothers Wait Concept. Once the first move of a node
+	 *   has been searched, the others are searched in parallel (see
+	 *   Searcher.java). Only with lynx.search=pvs.
+	 * - "lazysmp": Lazy SMP. Helper threads search the same situation as the
+	 *   main thread, half of them a level deeper, and share their results
+	 *   through the transposition table. Only with lynx.search=pvs.
+	 *
+	 * @return PARALLEL_NONE, PARALLEL_YBWC or PARALLEL_LAZY_SMP.
+	 */
+	public static String getParallel() {
+		return getChoice( "parallel", PARALLEL_NONE, new String[] { PARALLEL_NONE, PARALLEL_YBWC, PARALLEL_LAZY_SMP } );
+	} /* End of getParallel(). */
+
+
+	/**
+	 * The number of threads of the parallel search (property lynx.threads,
+	 * default the number of processors). With Lazy SMP this includes the
+	 * main thread.
+	 *
+	 * @return The number of threads.
+	 */
+	public static int getThreads() {
+		return getInt( "threads", Runtime.getRuntime().availableProcessors(), 1, 256 );
+	} /* End of getThreads(). */
+
+
+	/**
+	 * The deepest level Lynx builds its tree to (property lynx.depth, default
+	 * 0 for no limit). Lynx builds it to level 5 at least and still stops
+	 * when its time is up. With a limit and enough time every move searches
+	 * the same tree, which makes the time it takes comparable, e.g. for
+	 * different numbers of threads.
+	 *
+	 * @return The depth or 0.
+	 */
+	public static int getMaxDepth() {
+		return getInt( "depth", 0, 0, 120 );
+	} /* End of getMaxDepth(). */
+
+
+	/**
+	 * Whether Lynx thinks about its next move while the enemy thinks about
+	 * its answer (property lynx.ponder, "on" or "off", default "off"). It
+	 * thinks about the answer it expects; if the enemy plays it, Lynx goes on
+	 * from there with its own time.
+	 *
+	 * @return true if Lynx ponders.
+	 */
+	public static boolean getPonder() {
+		return getChoice( "ponder", PONDER_OFF, new String[] { PONDER_ON, PONDER_OFF } ).equals( PONDER_ON );
+	} /* End of getPonder(). */
+
+
+	/**
+	 * The hyperbolic tangent of the neurons of the net (property lynx.tanh):
+	 * - "exact": Math.tanh(). (default)
+	 * - "fast": An interpolated table, off by at most Tanh.MAX_ERROR (see
+	 *   Tanh.java). Leaves are cheaper, values may differ in the sixth
+	 *   decimal.
+	 * With "fast" Lynx has to choose the same moves as with "exact" on the
+	 * regression set of benchmark.TanhBenchmark, which fails otherwise. Only
+	 * where two moves are worth the same up to the error of the net, less
+	 * than 5.2e-6, may the other one be chosen; such near-ties are
+	 * accepted in deeper searches or other positions.
+	 *
+	 * @return TANH_EXACT or TANH_FAST.
+	 */
+	public static String getTanh() {
+		return getChoice( "tanh", TANH_EXACT, new String[] { TANH_EXACT, TANH_FAST } );
+	} /* End of getTanh(). */
+
+
+	/**
+	 * The kind of numbers the net and the search work with (property
+	 * lynx.net):
+	 * - "float": The net in doubles (see Net.java), scores are doubles.
+	 *   (default)
+	 * - "quantized": The net in 16-bit fixed point with a table for the tanh
+	 *   (see QuantizedNet.java), scores are integers that fit into 16 bits
+	 *   of the transposition table. Only with lynx.search=pvs and one thread.
+	 *
+	 * @return NET_FLOAT or NET_QUANTIZED.
+	 */
+	public static String getNet() {
+		return getChoice( "net", NET_FLOAT, new String[] { NET_FLOAT, NET_QUANTIZED } );
+	} /* End of getNet(). */
+
+
+	/**
+	 * The evaluation function (property lynx.eval):
+	 * - "net": Our neural net, see Net.java and getNet(). (default)
+	 * - "patterns": The pattern evaluator, see PatternEvaluator.java. It is
+	 *   experimental: there are no fitted weights yet, and the default ones
+	 *   are the square table of LookOneAheadPlayer, the same in every phase
+	 *   and slower to evaluate. Weights are read from the file in
+	 *   lynx.patterns if that is set.
+	 * If player.eval is set (see player.EvaluatorConfig), it is used instead.
+	 *
+	 * @return EVAL_NET or EVAL_PATTERNS.
+	 */
+	public static String getEval() {
+		return getChoice( "eval", EVAL_NET, new String[] { EVAL_NET, EVAL_PATTERNS } );
+	} /* End of getEval(). */
+
+
+	/**
+	 * The file with the weights of the pattern evaluator (property
+	 * lynx.patterns, see PatternEvaluator.load()).
+	 *
+	 * @return The name of the file, or null for the default weights.
+	 */
+	public static String getPatternFile() {
+		return System.getProperty( PREFIX + "patterns" );
+	} /* End of getPatternFile(). */
+
+
+	/**
+	 * Reads a setting which has one of some fixed values.
+	 *
+	 * @param name The name of the setting (without prefix).
+	 * @param defaultValue The value to use if it isn't set or set to an
+	 * unknown value.
+	 * @param choices All allowed values.
+	 * @return The value of the setting.
+	 */
+	private static String getChoice( String name, String defaultValue, String[] choices ) {
+
+		String value = System.getProperty( PREFIX + name );
+		if ( value == null ) {
+			return defaultValue;
+		}
+
+		for ( int i = 0; i < choices.length; i++ ) {
+			if ( choices[ i ].equalsIgnoreCase( value.trim() ) ) {
+				return choices[ i ];
+			}
+		}
+
+		System.out.println( "(WW) Lynx: Unknown value '" + value + "' for " + PREFIX + name + ", using '" + defaultValue + "'." );
+		return defaultValue;
+	} /* End of getChoice(). */
+
+
+	/**
+	 * Reads a setting which is a number.
+	 *
+	 * @param name The name of the setting (without prefix).
+	 * @param defaultValue The value to use if it isn't set or set to an
+	 * invalid value.
+	 * @param min The smallest allowed value.
+	 * @param max The greatest allowed value.
+	 * @return The value of the setting.
+	 */
+	private static int getInt( String name, int defaultValue, int min, int max ) {
+
+		String value = System.getProperty( PREFIX + name );
+		if ( value == null ) {
+			return defaultValue;
+		}
+
+		try {
+			int number = Integer.parseInt( value.trim() );
+			if ( number >= min && number <= max ) {
+				return number;
+			}
+		} catch ( NumberFormatException e ) {
+			/* Reported below. */
+		}
+
+		System.out.println( "(WW) Lynx: Invalid value '" + value + "' for " + PREFIX + name + " (must be " + min + " to " + max + "), using " + defaultValue + "." );
+		return defaultValue;
+	} /* End of getInt(). */
+
+} /* End of class Config. */
@@ -0,0 +1,598 @@
+package lynx;
+
+import player.Features;
+import reversi.BitGameBoard;
+
+
+/**
+ * An exact endgame solver. Near the end of the game the tree is small enough
+ * to be searched down to the end, so there is no need to ask the neural net:
+ * the solver finds the final disc difference (own discs minus enemy discs,
+ * the empty squares going to the winner) both players can force.
+ *
+ * A situation is given as two bit masks (see reversi.BitGameBoard), the
+ * discs of the player to move and the ones of the other player. All values
+ * are from the view of the player to move.
+ *
+ * Searching with the window (-1, 1) only tells win, draw or loss (a value
+ * above 0, 0 or a value below 0), which is a lot faster than finding the
+ * exact difference. Lynx does that first and the exact search afterwards.
+ *
+ * The moves are ordered:
+ * - "fastest first": moves after which the opponent has few moves first,
+ *   because those subtrees are small and tend to be good for us;
+ * - by parity: moves into a quadrant with an odd number of empty squares
+ *   first, because whoever moves last in a region usually keeps its discs.
+ * The last four empty squares are solved by special code without move lists.
+ *
+ * Stable discs (see player.Features.stableDiscs()) stay with their owner to
+ * the end, so the stable discs of the other player cap what the player to
+ * move can get. If that cap doesn't reach alpha, the node fails low without
+ * being searched (a stability cutoff).
+ *
+ * Situations with many empty squares are stored in a small hash table of
+ * their own, with the bounds found and the best move. Besides the first move
+ * of a node, all moves are searched with a null window first (Principal
+ * Variation Search), which makes the exact search a lot cheaper.
+ *
+ * An instance must not be used by more than one thread at the same time.
+ */
+public class EndgameSolver {
+
+	/* The greatest possible value. */
+	public static final int MAX_SCORE = 64;
+
+	/* Above this many empties the moves are ordered fastest first, else by parity only. */
+	private static final int FASTEST_FIRST_EMPTIES = 7;
+
+	/* Situations with at least this many empties go into the hash table. */
+	private static final int HASH_EMPTIES = 9;
+
+	/* The number of entries of the hash table (a power of two). */
+	private static final int HASH_SIZE = 1 << 18;
+
+	/* We check the time every 4096 nodes. */
+	private static final long TIME_CHECK_MASK = 4095;
+
+	/* The four quadrants of the board. */
+	private static final long[] QUADRANTS = {
+		0x000000000f0f0f0fL, 0x00000000f0f0f0f0L,
+		0x0f0f0f0f00000000L, 0xf0f0f0f000000000L
+	};
+
+	/* The quadrant of each square. */
+	private static final long[] QUADRANT_OF = new long[ 64 ];
+
+	static {
+		for ( int square = 0; square < 64; square++ ) {
+			for ( int q = 0; q < QUADRANTS.length; q++ ) {
+				if ( ( QUADRANTS[ q ] & ( 1L << square ) ) != 0 ) {
+					QUADRANT_OF[ square ] = QUADRANTS[ q ];
+				}
+			}
+		}
+	}
+
+	/*
+	 * The move lists, one per number of empty squares (which is different
+	 * in every node of a line, except after a pass, when the passing node
+	 * doesn't need its list).
+	 */
+	private final int[][] moveLists = new int[ 61 ][ 32 ];
+	private final long[][] flipLists = new long[ 61 ][ 32 ];
+	private final int[][] keyLists = new int[ 61 ][ 32 ];
+
+	/*
+	 * The hash table. Every entry has three longs: the discs of the player
+	 * to move, the discs of the other player and the data: the lower bound
+	 * (bits 0-7), the upper bound (bits 8-15, both plus MAX_SCORE) and the
+	 * best move (bits 16-22).
+	 */
+	private final long[] hashTable = new long[ 3 * HASH_SIZE ];
+
+	/* When we have to give up and whether we did. */
+	private long deadline;
+	private boolean aborted;
+
+	/* The number of nodes searched and the best move of the last solve(). */
+	private long nodes;
+	private int bestMove;
+
+
+	/**
+	 * Solves a situation. The player to move must have a move.
+	 *
+	 * @param own The discs of the player to move.
+	 * @param other The discs of the other player.
+	 * @param alpha The lower bound of the window.
+	 * @param beta The upper bound of the window, e.g. 1 with alpha = -1 for
+	 * a win/draw/loss search, or MAX_SCORE with alpha = -MAX_SCORE for the
+	 * exact value.
+	 * @param deadline The time (System.currentTimeMillis()) at which to give
+	 * up.
+	 * @return The value of the situation, or garbage if isAborted().
+	 */
+	public int solve( long own, long other, int alpha, int beta, long deadline ) {
+
+		this.deadline = deadline;
+		aborted = false;
+		nodes = 0;
+		bestMove = BitGameBoard.PASS;
+
+		long empty = ~( own | other );
+		int empties = Long.bitCount( empty );
+		int count = orderMoves( own, other, empty, empties, true, probeMove( own, other ) );
+		int[] list = moveLists[ empties ];
+		long[] flips = flipLists[ empties ];
+
+		int bestResult = -MAX_SCORE - 1;
+		for ( int i = 0; i < count && !aborted; i++ ) {
+			long f = flips[ i ];
+			long move = 1L << list[ i ];
+			int result;
+
+			if ( i == 0 ) {
+				result = -search( other & ~f, own | f | move, -beta, -alpha, false );
+			} else {
+				result = -search( other & ~f, own | f | move, -alpha - 1, -alpha, false );
+				if ( result > alpha && result < beta ) {
+					result = -search( other & ~f, own | f | move, -beta, -result, false );
+				}
+			}
+
+			if ( !aborted && result > bestResult ) {
+				bestResult = result;
+				bestMove = list[ i ];
+				if ( result > alpha ) {
+					alpha = result;
+				}
+				if ( alpha >= beta ) {
+					break;
+				}
+			}
+		}
+
+		return bestResult;
+	} /* End of solve(). */
+
+
+	/**
+	 * @return true if the last solve() ran out of time.
+	 */
+	public boolean isAborted() {
+		return aborted;
+	} /* End of isAborted(). */
+
+
+	/**
+	 * @return The square (see reversi.BitGameBoard) of the best move found
+	 * by the last solve(). If it failed low, this is just a move that
+	 * doesn't reach alpha either.
+	 */
+	public int getBestMove() {
+		return bestMove;
+	} /* End of getBestMove(). */
+
+
+	/**
+	 * @return The number of nodes searched by the last solve().
+	 */
+	public long getNodes() {
+		return nodes;
+	} /* End of getNodes(). */
+
+
+	/**
+	 * Searches a situation with five or more empty squares (or hands it over
+	 * to the special code for fewer ones).
+	 */
+	private int search( long own, long other, int alpha, int beta, boolean passed ) {
+
+		/* Now and then we look at the clock. */
+		if ( ( ++nodes & TIME_CHECK_MASK ) == 0 && System.currentTimeMillis() >= deadline ) {
+			aborted = true;
+		}
+		if ( aborted ) {
+			return 0;
+		}
+
+		long empty = ~( own | other );
+		int empties = Long.bitCount( empty );
+
+		/* The last few squares. */
+		switch ( empties ) {
+			case 0:
+				return finalScore( own, other );
+			case 1:
+				return solve1( own, other, Long.numberOfTrailingZeros( empty ) );
+			case 2:
+			case 3:
+			case 4:
+				return solveSmall( own, other, alpha, beta, empty, empties, passed );
+			default:
+				break;
+		}
+
+		/*
+		 * Stability cutoff: We end with at most 64 - stable discs of the other
+		 * player, i.e. a value of at most 64 - 2 * stable. That can only be at
+		 * most alpha if the other player has enough discs at all, which is
+		 * cheap to check first.
+		 */
+		if ( MAX_SCORE - 2 * Long.bitCount( other ) <= alpha ) {
+			int upper = MAX_SCORE - 2 * Features.stability( other, own );
+			if ( upper <= alpha ) {
+				return upper;
+			}
+		}
+
+		/* Did we already solve this situation (well enough)? */
+		int index = -1;
+		int hashMove = BitGameBoard.PASS;
+		if ( empties >= HASH_EMPTIES ) {
+			index = hashIndex( own, other );
+			if ( hashTable[ index ] == own && hashTable[ index + 1 ] == other ) {
+				long data = hashTable[ index + 2 ];
+				int lower = (int)( data & 0xff ) - MAX_SCORE;
+				int upper = (int)( ( data >>> 8 ) & 0xff ) - MAX_SCORE;
+				if ( lower >= beta || lower == upper ) {
+					return lower;
+				}
+				if ( upper <= alpha ) {
+					return upper;
+				}
+				hashMove = (int)( data >>> 16 ) & 0x7f;
+			}
+		}
+
+		int count = orderMoves( own, other, empty, empties, empties > FASTEST_FIRST_EMPTIES, hashMove );
+
+		/* No move: The other player goes on or, if it can't either, the game is over. */
+		if ( count == 0 ) {
+			if ( passed ) {
+				return finalScore( own, other );
+			}
+			return -search( other, own, -beta, -alpha, true );
+		}
+
+		int[] list = moveLists[ empties ];
+		long[] flips = flipLists[ empties ];
+		int alphaOrig = alpha;
+		int bestResult = -MAX_SCORE - 1;
+		int bestSquare = list[ 0 ];
+		for ( int i = 0; i < count; i++ ) {
+			long f = flips[ i ];
+			long move = 1L << list[ i ];
+			int result;
+
+			if ( i == 0 ) {
+				result = -search( other & ~f, own | f | move, -beta, -alpha, false );
+			} else {
+				/* Null window first, the full one only if the move is better. */
+				result = -search( other & ~f, own | f | move, -alpha - 1, -alpha, false );
+				if ( result > alpha && result < beta ) {
+					result = -search( other & ~f, own | f | move, -beta, -result, false );
+				}
+			}
+
+			if ( result > bestResult ) {
+				bestResult = result;
+				bestSquare = list[ i ];
+				if ( result > alpha ) {
+					alpha = result;
+					if ( alpha >= beta ) {
+						break;
+					}
+				}
+			}
+		}
+
+		/* Storing what we know now, unless the result is garbage. */
+		if ( index >= 0 && !aborted ) {
+			int lower = ( bestResult > alphaOrig ) ? bestResult : -MAX_SCORE;
+			int upper = ( bestResult < beta ) ? bestResult : MAX_SCORE;
+			hashTable[ index ] = own;
+			hashTable[ index + 1 ] = other;
+			hashTable[ index + 2 ] = ( lower + MAX_SCORE ) | ( ( upper + MAX_SCORE ) << 8 ) | ( (long)bestSquare << 16 );
+		}
+
+		return bestResult;
+	} /* End of search(). */
+
+
+	/**
+	 * @return The index of the hash table entry of the situation.
+	 */
+	private static int hashIndex( long own, long other ) {
+
+		long h = own * 0x9e3779b97f4a7c15L + other * 0xc2b2ae3d27d4eb4fL;
+		return 3 * (int)( ( h ^ ( h >>> 29 ) ) & ( HASH_SIZE - 1 ) );
+	} /* End of hashIndex(). */
+
+
+	/**
+	 * @return The best move stored for the situation or BitGameBoard.PASS.
+	 */
+	private int probeMove( long own, long other ) {
+
+		int index = hashIndex( own, other );
+		if ( hashTable[ index ] == own && hashTable[ index + 1 ] == other ) {
+			return (int)( hashTable[ index + 2 ] >>> 16 ) & 0x7f;
+		}
+		return BitGameBoard.PASS;
+	} /* End of probeMove(). */
+
+
+	/**
+	 * Fills the move list of the given number of empties with the moves of
+	 * the player to move and their flips, best first. The hash move (if it's
+	 * not BitGameBoard.PASS) goes first of all.
+	 *
+	 * @return The number of moves.
+	 */
+	private int orderMoves( long own, long other, long empty, int empties, boolean fastestFirst, int hashMove ) {
+
+		int[] list = moveLists[ empties ];
+		long[] flips = flipLists[ empties ];
+		int[] keys = keyLists[ empties ];
+		long moves = BitGameBoard.legalMoves( own, other );
+		int count = 0;
+
+		while ( moves != 0 ) {
+			int square = Long.numberOfTrailingZeros( moves );
+			moves &= moves - 1;
+			long f = BitGameBoard.flips( own, other, square );
+
+			/* The lower the key, the earlier the move. Odd quadrants win ties. */
+			int key = ( Long.bitCount( empty & QUADRANT_OF[ square ] ) & 1 ) == 1 ? 0 : 1;
+			if ( square == hashMove ) {
+				key = -1;
+			} else if ( fastestFirst ) {
+				long move = 1L << square;
+				key += 2 * Long.bitCount( BitGameBoard.legalMoves( other & ~f, own | f | move ) );
+			}
+
+			/* Insertion sort, the lists are short. */
+			int i = count++;
+			while ( i > 0 && keys[ i - 1 ] > key ) {
+				keys[ i ] = keys[ i - 1 ];
+				list[ i ] = list[ i - 1 ];
+				flips[ i ] = flips[ i - 1 ];
+				i--;
+			}
+			keys[ i ] = key;
+			list[ i ] = square;
+			flips[ i ] = f;
+		}
+
+		return count;
+	} /* End of orderMoves(). */
+
+
+	/**
+	 * Solves two to four empty squares. The squares are taken in parity
+	 * order and the moves are done without move lists.
+	 */
+	private int solveSmall( long own, long other, int alpha, int beta, long empty, int empties, boolean passed ) {
+
+		/* The empty squares, the ones in odd quadrants first. */
+		int x1, x2, x3 = 0, x4 = 0;
+		long odd = 0;
+		for ( int q = 0; q < QUADRANTS.length; q++ ) {
+			if ( ( Long.bitCount( empty & QUADRANTS[ q ] ) & 1 ) == 1 ) {
+				odd |= QUADRANTS[ q ];
+			}
+		}
+		long first = empty & odd;
+		long second = empty & ~odd;
+		x1 = Long.numberOfTrailingZeros( first != 0 ? first : second );
+		if ( first != 0 ) {
+			first &= first - 1;
+		} else {
+			second &= second - 1;
+		}
+		x2 = Long.numberOfTrailingZeros( first != 0 ? first : second );
+		if ( empties > 2 ) {
+			if ( first != 0 ) {
+				first &= first - 1;
+			} else {
+				second &= second - 1;
+			}
+			x3 = Long.numberOfTrailingZeros( first != 0 ? first : second );
+		}
+		if ( empties > 3 ) {
+			if ( first != 0 ) {
+				first &= first - 1;
+			} else {
+				second &= second - 1;
+			}
+			x4 = Long.numberOfTrailingZeros( first != 0 ? first : second );
+		}
+
+		if ( empties == 2 ) {
+			return solve2( own, other, alpha, beta, x1, x2, passed );
+		} else if ( empties == 3 ) {
+			return solve3( own, other, alpha, beta, x1, x2, x3, passed );
+		}
+		return solve4( own, other, alpha, beta, x1, x2, x3, x4, passed );
+	} /* End of solveSmall(). */
+
+
+	/**
+	 * Solves four empty squares.
+	 */
+	private int solve4( long own, long other, int alpha, int beta, int x1, int x2, int x3, int x4, boolean passed ) {
+
+		nodes++;
+		int bestResult = -MAX_SCORE - 1;
+		long f;
+
+		f = BitGameBoard.flips( own, other, x1 );
+		if ( f != 0 ) {
+			bestResult = -solve3( other & ~f, own | f | ( 1L << x1 ), -beta, -alpha, x2, x3, x4, false );
+			if ( bestResult >= beta ) {
+				return bestResult;
+			}
+			alpha = Math.max( alpha, bestResult );
+		}
+		f = BitGameBoard.flips( own, other, x2 );
+		if ( f != 0 ) {
+			int result = -solve3( other & ~f, own | f | ( 1L << x2 ), -beta, -alpha, x1, x3, x4, false );
+			if ( result > bestResult ) {
+				bestResult = result;
+				if ( result >= beta ) {
+					return result;
+				}
+				alpha = Math.max( alpha, result );
+			}
+		}
+		f = BitGameBoard.flips( own, other, x3 );
+		if ( f != 0 ) {
+			int result = -solve3( other & ~f, own | f | ( 1L << x3 ), -beta, -alpha, x1, x2, x4, false );
+			if ( result > bestResult ) {
+				bestResult = result;
+				if ( result >= beta ) {
+					return result;
+				}
+				alpha = Math.max( alpha, result );
+			}
+		}
+		f = BitGameBoard.flips( own, other, x4 );
+		if ( f != 0 ) {
+			int result = -solve3( other & ~f, own | f | ( 1L << x4 ), -beta, -alpha, x1, x2, x3, false );
+			if ( result > bestResult ) {
+				bestResult = result;
+			}
+		}
+
+		/* No move at all? */
+		if ( bestResult == -MAX_SCORE - 1 ) {
+			if ( passed ) {
+				return finalScore( own, other );
+			}
+			return -solve4( other, own, -beta, -alpha, x1, x2, x3, x4, true );
+		}
+		return bestResult;
+	} /* End of solve4(). */
+
+
+	/**
+	 * Solves three empty squares.
+	 */
+	private int solve3( long own, long other, int alpha, int beta, int x1, int x2, int x3, boolean passed ) {
+
+		nodes++;
+		int bestResult = -MAX_SCORE - 1;
+		long f;
+
+		f = BitGameBoard.flips( own, other, x1 );
+		if ( f != 0 ) {
+			bestResult = -solve2( other & ~f, own | f | ( 1L << x1 ), -beta, -alpha, x2, x3, false );
+			if ( bestResult >= beta ) {
+				return bestResult;
+			}
+			alpha = Math.max( alpha, bestResult );
+		}
+		f = BitGameBoard.flips( own, other, x2 );
+		if ( f != 0 ) {
+			int result = -solve2( other & ~f, own | f | ( 1L << x2 ), -beta, -alpha, x1, x3, false );
+			if ( result > bestResult ) {
+				bestResult = result;
+				if ( result >= beta ) {
+					return result;
+				}
+				alpha = Math.max( alpha, result );
+			}
+		}
+		f = BitGameBoard.flips( own, other, x3 );
+		if ( f != 0 ) {
+			int result = -solve2( other & ~f, own | f | ( 1L << x3 ), -beta, -alpha, x1, x2, false );
+			if ( result > bestResult ) {
+				bestResult = result;
+			}
+		}
+
+		/* No move at all? */
+		if ( bestResult == -MAX_SCORE - 1 ) {
+			if ( passed ) {
+				return finalScore( own, other );
+			}
+			return -solve3( other, own, -beta, -alpha, x1, x2, x3, true );
+		}
+		return bestResult;
+	} /* End of solve3(). */
+
+
+	/**
+	 * Solves two empty squares.
+	 */
+	private int solve2( long own, long other, int alpha, int beta, int x1, int x2, boolean passed ) {
+
+		nodes++;
+		int bestResult = -MAX_SCORE - 1;
+		long f;
+
+		f = BitGameBoard.flips( own, other, x1 );
+		if ( f != 0 ) {
+			bestResult = -solve1( other & ~f, own | f | ( 1L << x1 ), x2 );
+			if ( bestResult >= beta ) {
+				return bestResult;
+			}
+		}
+		f = BitGameBoard.flips( own, other, x2 );
+		if ( f != 0 ) {
+			int result = -solve1( other & ~f, own | f | ( 1L << x2 ), x1 );
+			if ( result > bestResult ) {
+				bestResult = result;
+			}
+		}
+
+		/* No move at all? */
+		if ( bestResult == -MAX_SCORE - 1 ) {
+			if ( passed ) {
+				return finalScore( own, other );
+			}
+			return -solve2( other, own, -beta, -alpha, x1, x2, true );
+		}
+		return bestResult;
+	} /* End of solve2(). */
+
+
+	/**
+	 * Solves the last empty square: The player to move takes it if it can,
+	 * else the other one does if it can, else it stays empty.
+	 */
+	private int solve1( long own, long other, int x ) {
+
+		nodes++;
+		long f = BitGameBoard.flips( own, other, x );
+		if ( f != 0 ) {
+			return 2 * ( Long.bitCount( own | f ) + 1 ) - 64;
+		}
+
+		f = BitGameBoard.flips( other, own, x );
+		if ( f != 0 ) {
+			return 64 - 2 * ( Long.bitCount( other | f ) + 1 );
+		}
+
+		return finalScore( own, other );
+	} /* End of solve1(). */
+
+
+	/**
+	 * The value of a finished game: the difference of the discs, the empty
+	 * squares going to the winner.
+	 */
+	private static int finalScore( long own, long other ) {
+
+		int diff = Long.bitCount( own ) - Long.bitCount( other );
+		int empties = 64 - Long.bitCount( own | other );
+		if ( diff > 0 ) {
+			return diff + empties;
+		} else if ( diff < 0 ) {
+			return diff - empties;
+		}
+		return 0;
+	} /* End of finalScore(). */
+
+} /* End of class EndgameSolver. */
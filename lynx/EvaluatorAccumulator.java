@@ -0,0 +1,71 @@
+package lynx;
+
+import player.Evaluator;
+import reversi.BitGameBoard;
+
+
+/**
+ * The Accumulator of an Evaluator that can't follow the moves by itself: it
+ * plays them on a board of its own and evaluates the whole situation at every
+ * leaf. This is how Lynx searches with an Evaluator it was given (see
+ * Lynx( Evaluator )), e.g. the one of The Net.
+ *
+ * An instance must not be used by more than one thread at the same time.
+ */
+class EvaluatorAccumulator implements Accumulator {
+
+	/* The evaluator and our board. */
+	private final Evaluator evaluator;
+	private final BitGameBoard board = new BitGameBoard();
+
+
+	/**
+	 * Creates an accumulator.
+	 *
+	 * @param evaluator The evaluator.
+	 */
+	EvaluatorAccumulator( Evaluator evaluator ) {
+		this.evaluator = evaluator;
+	} /* End of constructor EvaluatorAccumulator(). */
+
+
+	/**
+	 * @see lynx.Accumulator#reset(reversi.BitGameBoard)
+	 */
+	public void reset( BitGameBoard situation ) {
+		board.updateBoard( situation );
+	} /* End of reset(). */
+
+
+	/**
+	 * @see lynx.Accumulator#play(int, int, long)
+	 */
+	public void play( int player, int square, long flips ) {
+		board.play( player, square, flips );
+	} /* End of play(). */
+
+
+	/**
+	 * @see lynx.Accumulator#pass()
+	 */
+	public void pass() {
+		board.pass( board.getSideToMove() );
+	} /* End of pass(). */
+
+
+	/**
+	 * @see lynx.Accumulator#undo()
+	 */
+	public void undo() {
+		board.undo();
+	} /* End of undo(). */
+
+
+	/**
+	 * @see lynx.Accumulator#evaluate(int)
+	 */
+	public double evaluate( int ownColor ) {
+		return evaluator.evaluate( board, ownColor );
+	} /* End of evaluate(). */
+
+} /* End of class EvaluatorAccumulator. */
@@ -6,9 +6,20 @@ package lynx;
 /* We need stuff from the reversi framework. */
 import reversi.*;
 
+/* And the move ordering and the square values shared with other players. */
+import player.Evaluator;
+import player.EvaluatorConfig;
+import player.MoveOrdering;
+import lookOneAheadPlayer.LookOneAheadPlayer;
+
 /* We need also some utilities provided by Java. */
 import java.util.Random;
 import java.util.Vector;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
 
 
 /**
@@ -44,15 +55,10 @@ public class Lynx implements ReversiPlayer {
 	 * The min- or max-node sets this to true if it detects that we're running
 	 * out of time. If abort is true this will cause all other nodes to
 	 * return immediately and nextMove to stop building the tree deeper.
+	 *   It is volatile because with the parallel search (see Searcher.java)
+	 * the nodes are searched by several threads.
 	 */
-	private boolean abort = false;
-	
-	/*
-	 * The size of the game board (number of fields in one direction). There
-	 * should not be any need to change this, but better prepare for the un-
-	 * expected...
-	 */
-	private final int SIZE = 8;
+	private volatile boolean abort = false;
 	
 	/* 
 	 * Timeout and the own color are set by the framework with initialize().
@@ -63,22 +69,165 @@ public class Lynx implements ReversiPlayer {
 	private int ownColor;
 	private int enemyColor;
 	
+	/*
+	 * Our clock (see TimeManager.java). It is started with our timeout, or
+	 * with a longer one while we are pondering (see startPondering()).
+	 */
+	private TimeManager clock;
+	
+	/*
+	 * The nodes searched by maxValue() and minValue(). The Searchers count
+	 * their own ones.
+	 */
+	private long nodes;
+	
 	/* 
-	 * Our artificial neural network, class "Net".
+	 * Our evaluation function: the one given to the constructor, or else our
+	 * artificial neural network (see NetEvaluator.java) or the experimental
+	 * patterns (see PatternEvaluator.java and Config.getEval()).
+	 */
+	private final Evaluator givenEvaluator;
+	private Evaluator evaluator;
+	
+	/*
+	 * The evaluation once more, for maxValue() and minValue(): It evaluates
+	 * the situations they reach move by move (see Accumulator.java). The
+	 * Searchers have their own ones.
 	 */
-	private Net myNet;
+	private Accumulator accumulator;
+	
+	/* Whether we search with the quantized net (see Config.getNet()). */
+	private boolean quantized;
 	
 	/* The time when we started our current move. */
 	private long startTime;
 	
 	/* This stores the coordinates of the best move found. This is done by
-	 * every max node and since it's a recursive thing, the max-node which
-	 * is the root-node is the last to write its result into this variable.
+	 * the max-node which is the root-node, every time it finds a better move,
+	 * so that the move is known even if the search is aborted later on.
 	 *   This avoids the problem, that it is not possible to return more 
 	 * than one value in a function.
 	 */
 	private Coordinates bestMove = null;
 	
+	/*
+	 * The size of our transposition table in MB. The table stores the results
+	 * of positions we have already searched, so that positions reached by
+	 * different move orders and positions of the last iteration don't have
+	 * to be searched again (see TranspositionTable.java).
+	 */
+	private final int TABLE_SIZE_MB = 32;
+	
+	/* Our transposition table. */
+	private TranspositionTable table;
+	
+	/* The depth of the root node of the current iteration. */
+	private int rootDepth;
+	
+	/*
+	 * The principal variation (the line both players are expected to play)
+	 * is collected bottom-up during the search: pvTable[ply] holds the best
+	 * line found from the node at that ply, pvLength[ply] where it ends. The
+	 * Searchers of the Principal Variation Search have their own ones.
+	 */
+	private int[][] pvTable = new int[ MoveOrdering.MAX_PLY + 1 ][ MoveOrdering.MAX_PLY + 1 ];
+	private int[] pvLength = new int[ MoveOrdering.MAX_PLY + 1 ];
+	
+	/*
+	 * The principal variation of the last completed iteration together with
+	 * the keys of the situations along it. It is searched first in the next
+	 * iteration and, as far as the game followed it, in the next move.
+	 */
+	private int[] principalVariation = new int[ MoveOrdering.MAX_PLY ];
+	private long[] pvKeys = new long[ MoveOrdering.MAX_PLY ];
+	private int pvSize = 0;
+	
+	/*
+	 * The move ordering with its killers and history scores. It is kept for
+	 * the whole game as well, the number of empty squares at our last move
+	 * tells it how far the game went on since.
+	 */
+	private MoveOrdering ordering;
+	private int lastEmpties;
+	
+	/*
+	 * Whether we search with the negamax Principal Variation Search
+	 * (Searcher.pvsValue()) or with the max- and min-nodes (maxValue(),
+	 * minValue()).
+	 * See Config.getSearch().
+	 */
+	private boolean principalVariationSearch;
+	
+	/*
+	 * Our endgame solver and the number of empty squares from which on we
+	 * use it (see Config.getEndgameEmpties()).
+	 */
+	private EndgameSolver solver;
+	private int endgameEmpties;
+	
+	/*
+	 * The Principal Variation Search is done by Searchers (see Searcher.java).
+	 * The main one searches from the root. With the parallel search the
+	 * threads of the pool search the younger brothers at the split points,
+	 * every task with a Searcher from the idle ones. With Lazy SMP the threads
+	 * of helperPool search the same root as the main Searcher, with Searchers
+	 * from the idle ones as well. All Searchers ever created are in
+	 * allSearchers, so that their move orderings can be kept up to date. The
+	 * pools are null if they aren't used.
+	 */
+	private Searcher mainSearcher;
+	private ForkJoinPool pool;
+	private ForkJoinPool helperPool;
+	private ConcurrentLinkedQueue<Searcher> idleSearchers;
+	private ConcurrentLinkedQueue<Searcher> allSearchers;
+	
+	/* The deepest level we build the tree to, 0 if there is no limit (see Config.getMaxDepth()). */
+	private int maxSearchDepth;
+	
+	/*
+	 * PONDERING (see Config.getPonder())
+	 * After our move the ponder thread thinks about our next move in the
+	 * situation we expect after the answer of the enemy. ponderOwn and
+	 * ponderOther are our and the enemy's stones in that situation, ponderMove
+	 * is the move the ponder thread found. pondering is true until nextMove()
+	 * tells the ponder thread that the enemy did answer as expected.
+	 */
+	private boolean ponder;
+	private Thread ponderThread;
+	private long ponderOwn;
+	private long ponderOther;
+	private volatile Coordinates ponderMove;
+	private volatile boolean pondering = false;
+	
+	/*
+	 * While pondering we don't know how much time we have. The enemy has to
+	 * move within its timeout, which is ours in the Arena. If we don't hear
+	 * from it for this many timeouts, the game is probably over and we stop.
+	 */
+	private final int PONDER_TIMEOUTS = 2;
+	
+	
+	/**
+	 * Creates a Lynx with the evaluation function chosen by the property
+	 * player.eval (see player.EvaluatorConfig), or with its own one (see
+	 * Config.getEval()) if that is not set.
+	 */
+	public Lynx() {
+		this( EvaluatorConfig.getEvaluator( null ) );
+	} /* End of constructor Lynx(). */
+	
+	
+	/**
+	 * Creates a Lynx which evaluates with the given evaluation function.
+	 * Evaluators which can't follow the moves (see Accumulator.java) make
+	 * the search slower than our net.
+	 * 
+	 * @param evaluator The evaluation function, or null for our own one.
+	 */
+	public Lynx( Evaluator evaluator ) {
+		this.givenEvaluator = evaluator;
+	} /* End of constructor Lynx(). */
+	
 	
 	/**
 	 * This method is called by the framework at the beginning of a game
@@ -97,6 +246,7 @@ public class Lynx implements ReversiPlayer {
 		/* Setting the own color and the timeout. */
 		this.ownColor = color;
 		this.timeout = timeout;
+		this.clock = new TimeManager( (long)ABORT_TIME_THRESHOLD );
 
 		/* Printing who we are and determining the color of the enemy. 
 		 * I guess the viewers know that and aren't interested in our output... 
@@ -109,8 +259,76 @@ public class Lynx implements ReversiPlayer {
 			enemyColor = GameBoard.RED;
 		}
 		
-		/* Initialize our neural net. */
-		myNet = new Net();
+		/* Initialize our evaluation: the given one, the patterns or our neural net. */
+		evaluator = givenEvaluator;
+		if ( evaluator == null && Config.getEval().equals( Config.EVAL_PATTERNS ) ) {
+			evaluator = PatternEvaluator.fromConfig();
+		}
+		if ( evaluator == null ) {
+			evaluator = new NetEvaluator( Config.getTanh().equals( Config.TANH_FAST ) );
+		}
+		
+		/* And our transposition table. It is kept for the whole game. */
+		table = new TranspositionTable( TABLE_SIZE_MB );
+		pvSize = 0;
+		
+		/* And our move ordering. */
+		ordering = new MoveOrdering( LookOneAheadPlayer.VALUE_FIELD );
+		lastEmpties = 64;
+		
+		/* Reading our settings. */
+		principalVariationSearch = Config.getSearch().equals( Config.SEARCH_PVS );
+		endgameEmpties = Config.getEndgameEmpties();
+		quantized = Config.getNet().equals( Config.NET_QUANTIZED );
+		if ( quantized && !principalVariationSearch ) {
+			System.out.println( "(WW) Lynx: The quantized net needs lynx.search=" + Config.SEARCH_PVS + ", using the float net." );
+			quantized = false;
+		}
+		if ( quantized && !( evaluator instanceof NetEvaluator ) ) {
+			System.out.println( "(WW) Lynx: The quantized net can't be used with another evaluator, using " + evaluator.getClass().getName() + "." );
+			quantized = false;
+		}
+		accumulator = createAccumulator();
+		
+		/* And our endgame solver. */
+		solver = new EndgameSolver();
+		
+		/* And our Searchers and, if we search in parallel, the threads for them. */
+		idleSearchers = new ConcurrentLinkedQueue<Searcher>();
+		allSearchers = new ConcurrentLinkedQueue<Searcher>();
+		mainSearcher = new Searcher( this, table, ownColor, enemyColor );
+		allSearchers.add( mainSearcher );
+		
+		if ( pool != null ) {
+			pool.shutdown();
+			pool = null;
+		}
+		if ( helperPool != null ) {
+			helperPool.shutdown();
+			helperPool = null;
+		}
+		String parallel = Config.getParallel();
+		int threads = Config.getThreads();
+		if ( !parallel.equals( Config.PARALLEL_NONE ) && threads > 1 ) {
+			if ( !principalVariationSearch ) {
+				System.out.println( "(WW) Lynx: The parallel search needs lynx.search=" + Config.SEARCH_PVS + ", searching with one thread." );
+			} else if ( quantized ) {
+				System.out.println( "(WW) Lynx: The quantized net searches with one thread." );
+			} else if ( parallel.equals( Config.PARALLEL_YBWC ) ) {
+				pool = new ForkJoinPool( threads );
+			} else {
+				/* The main Searcher runs in our own thread. */
+				helperPool = new ForkJoinPool( threads - 1 );
+			}
+		}
+		maxSearchDepth = Config.getMaxDepth();
+		
+		/* If we still ponder from an earlier game, it is of no use anymore. */
+		if ( ponderThread != null ) {
+			abort = true;
+			joinPonderThread();
+		}
+		ponder = Config.getPonder();
 		
 	} /* End of initialize(). */
 
@@ -120,10 +338,17 @@ public class Lynx implements ReversiPlayer {
 	 * details).
 	 * 
 	 * Implemented:
-	 * - MiniMax-search with alpha-beta-pruning
+	 * - MiniMax-search with alpha-beta-pruning, by default as negamax Principal
+	 *   Variation Search (see Config.java)
 	 * - Evaluation-function: ANN
 	 * - Time management: Builds the tree to depth+1 if enough time is left.
 	 *   (iterative deepening)
+	 * - Exact endgame solver near the end of the game (see EndgameSolver.java)
+	 * - Transposition table, principal variation and move ordering (hash move,
+	 *   killers, history, square values), all kept from one iteration to the
+	 *   next and from one move to the next.
+	 * - Pondering: thinking on the time of the enemy (if turned on, see
+	 *   Config.java)
 	 * 
 	 * @see player.Player#nextMove(reversi.GameBoard)
 	 */
@@ -132,13 +357,48 @@ public class Lynx implements ReversiPlayer {
 		/* The first thing we do is setting the start time. */
 		startTime = System.currentTimeMillis();
 		
-		/* Storing the current situation in a new object. */
-		TextGameBoard currentBoard = new TextGameBoard( gb );
+		/* Storing the current situation in a new object. It's our turn. */
+		BitGameBoard currentBoard = new BitGameBoard( gb );
+		currentBoard.setSideToMove( ownColor );
 		
-		/* Does a move exist? */
-		if ( !currentBoard.isMoveAvailable( ownColor ) ) {
-			return null;
+		/*
+		 * If we pondered about this situation, we go on with it, now on our
+		 * own time. Else the ponder thread stops.
+		 */
+		Coordinates move = stopPondering( currentBoard );
+		
+		if ( move == null ) {
+			
+			/* Does a move exist? */
+			if ( !currentBoard.isMoveAvailable( ownColor ) ) {
+				return null;
+			}
+			
+			/* We must abort set to false! */
+			abort = false;
+			clock.startMove( timeout );
+			move = think( currentBoard );
+		}
+		
+		/* While the enemy thinks about its answer, we think about our next move. */
+		if ( ponder ) {
+			startPondering( currentBoard, move );
 		}
+		return move;
+		
+	} /* End of nextMove(). */
+	
+	
+	/**
+	 * Finds our move in the given situation by building the tree deeper and
+	 * deeper until the time is up. Called by nextMove() and, while we
+	 * ponder, by the ponder thread.
+	 * 
+	 * @param currentBoard The situation. It's our turn and we have a move.
+	 * @return The move to make or null if the ponder thread had to stop
+	 * before it found one.
+	 */
+	private Coordinates think( BitGameBoard currentBoard ) {
 		
 		/* TIME MANAGEMENT (Iterative Deepening)
 		 *****************
@@ -149,18 +409,17 @@ public class Lynx implements ReversiPlayer {
 		 *   The move we made will be the best one found in the last tree that could
 		 * be built fully.
 		 * 
-		 * **********************************************************************
-		 * FIXME: Towards the end of the game, the tree is built down to a depth
-		 * of around 32000+. This bears the danger of an integer overflow and of
-		 * course it is useless. So the cutoff-test in the min and max-node have
-		 * to be altered.
-		 *   Ok, it is not a very bad problem, because it does no harm to the
-		 * resulting move.
-		 * **********************************************************************
+		 *   Towards the end of the game the whole tree can be built. Every ply
+		 * either fills a square or is a pass (and two passes end the game), so
+		 * a tree of depth 2 * empties is complete and we stop there instead of
+		 * going deeper and deeper.
 		 * 
-		 * TODO: Maybe it is possible to store the last calculated level so that it
-		 * would be possible to start right away if we go deeper instead of building
-		 * the whole tree each time.
+		 * Every level still builds the whole tree, but the results of the last
+		 * levels (and of our last moves) are not lost: The transposition table
+		 * returns the values of situations already searched deep enough and gives
+		 * the best move to try first for the others, and the principal variation
+		 * of the last level is searched first. So the next level mostly has to
+		 * search the parts of the tree that are new.
 		 */
 		
 		/* 
@@ -185,29 +444,112 @@ public class Lynx implements ReversiPlayer {
 		 */
 		bestMove = null;
 		
-		/* We must abort set to false! */
-		abort = false;
+		/*
+		 * Keeping what we found during the last moves, but letting it be
+		 * replaced first.
+		 */
+		table.newGeneration();
+		
+		/*
+		 * If the game followed our principal variation, we start with its
+		 * remaining part. Else it's of no use anymore.
+		 */
+		shiftPrincipalVariation( currentBoard );
+		
+		/* The same for the killers and the history scores. */
+		int empties = Long.bitCount( currentBoard.getEmpty() );
+		ordering.newSearch( lastEmpties - empties );
+		for ( Searcher searcher : allSearchers ) {
+			searcher.newSearch( lastEmpties - empties );
+		}
+		lastEmpties = empties;
+		
+		/*
+		 * ENDGAME
+		 * Near the end of the game we don't need the net anymore: The endgame
+		 * solver searches down to the end of the game. If it can't tell us a
+		 * move that wins or draws in time, we go on with the normal search.
+		 */
+		if ( empties <= endgameEmpties ) {
+			Coordinates move = solveEndgame( currentBoard );
+			if ( move != null ) {
+				return move;
+			}
+		}
+		
+		/* The root situation, for setting the board back after an aborted maxValue(). */
+		BitGameBoard rootBoard = new BitGameBoard( currentBoard );
 		
-		/* Now we build the tree deeper and deeper as long as there is time (abort == false). */
+		/*
+		 * Now we build the tree deeper and deeper as long as there is time (abort == false)
+		 * and the clock thinks that we can finish the next level (see TimeManager.java).
+		 * While we are pondering, there is no such thing as finishing in time.
+		 */
 		while ( !abort ) {
 			
+			if ( lastBestMove != null && !pondering && !clock.canFinishLevel() ) {
+				break;
+			}
+			
 			lastDepth = maxDepth++;
 			
-			/* Storing the result of the last depth... */
+			/* Building the tree down to the new depth. */
+			//System.out.println("(II) Lynx: Building tree down to level " + maxDepth );
+			rootDepth = maxDepth;
+			long nodesBefore = countNodes();
+			clock.startLevel();
+			bestMove = null;
+			if ( principalVariationSearch ) {
+				bestEval = searchPrincipalVariation( currentBoard, maxDepth, 2 * empties );
+			} else {
+				try {
+					accumulator.reset( currentBoard );
+					bestEval = maxValue( currentBoard, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY, maxDepth );
+				} catch ( SearchAbortedException e ) {
+					/* The board is left somewhere in the tree. */
+					currentBoard.updateBoard( rootBoard );
+				}
+			}
+			
+			/*
+			 * If the level was aborted, the root still knows the best of the moves
+			 * it did search completely (bestMove is only set for those). The first
+			 * one is the best move of the last level, so it can only be better.
+			 */
+			if ( abort ) {
+				if ( bestMove != null ) {
+					lastBestMove = bestMove;
+				}
+				break;
+			}
+			
+			/* Storing the result of this depth... */
+			clock.levelDone( countNodes() - nodesBefore );
 			lastBestMove = bestMove;
 			lastBestEval = bestEval;
 			
-			/* Building the tree down to the new depth. */
-			//System.out.println("(II) Lynx: Building tree down to level " + maxDepth );
-			bestEval = maxValue( currentBoard, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY, maxDepth );
+			/* ...and keeping its principal variation for the next one. */
+			if ( principalVariationSearch ) {
+				storePrincipalVariation( currentBoard, mainSearcher.getPrincipalVariation(), mainSearcher.getPrincipalVariationLength() );
+			} else {
+				storePrincipalVariation( currentBoard, pvTable[ 0 ], pvLength[ 0 ] );
+			}
 			
+			/*
+			 * Was the tree complete? Then going deeper wouldn't tell anything new.
+			 * The same if we reached the depth we were told to stop at.
+			 */
+			if ( maxDepth >= 2 * empties || ( maxSearchDepth > 0 && maxDepth >= maxSearchDepth ) ) {
+				break;
+			}
 			
 			//System.out.println("(II) Used " + (System.currentTimeMillis() - startTime) + "ms to go to level " + maxDepth);
 		}
 		
 		/*
 		 * Note: We have to take the results of the last *completed* level in the
-		 * search. So we'll return lastBestMove instead of bestMove, et cetera.
+		 * search (or the part of the aborted one we can trust, see above). So we'll
+		 * return lastBestMove instead of bestMove, et cetera.
 		 */
 		
 		/*
@@ -216,36 +558,38 @@ public class Lynx implements ReversiPlayer {
 		 * time and is a lot better than choosing a random move.
 		 */
 		if ( lastBestMove == null ) {
+			
+			/* While pondering this just means we had to stop early. */
+			if ( pondering ) {
+				return null;
+			}
+			
 			System.out.println( "(EE) Lynx: Error during Minimax. This should not happen. Falling back to 1ply.");
 			
 			/* Some variables. */
-			Coordinates coord;
+			int square;
 			double eval;
-			TextGameBoard boardAfterNextMove = new TextGameBoard( gb );
+			long moves = currentBoard.legalMoves( ownColor );
 			
 			bestEval = Double.NEGATIVE_INFINITY;
 			
 			/* Looping through the moves. */
-			for ( int row = 1; row <= SIZE; row++ ) {
-				for ( int col = 1; col <= SIZE; col++ ) {
-					
-					/* Preparing the coordinates of this move. */
-					coord = new Coordinates( row, col );
-					/* Resetting the board. */
-					boardAfterNextMove.updateBoard( gb );
-					
-					if ( boardAfterNextMove.checkMove( ownColor, coord ) ) {
-						boardAfterNextMove.makeMove( ownColor, coord );
-						
-						eval = evaluate( boardAfterNextMove );
-						
-						/* Did we find a better move than before? */
-						if ( eval > bestEval ) {
-							bestEval = eval;
-							bestMove = coord;
-						}
-					}
-					
+			while ( moves != 0 ) {
+				
+				/* Preparing the square of this move. */
+				square = Long.numberOfTrailingZeros( moves );
+				moves &= moves - 1;
+				
+				currentBoard.play( ownColor, square, currentBoard.flips( ownColor, square ) );
+				eval = evaluate( currentBoard );
+				
+				/* Taking the move back. */
+				currentBoard.undo();
+				
+				/* Did we find a better move than before? */
+				if ( eval > bestEval ) {
+					bestEval = eval;
+					bestMove = BitGameBoard.coordinates( square );
 				}
 			}
 			
@@ -266,7 +610,114 @@ public class Lynx implements ReversiPlayer {
 		/* Now we make the best move that we've found. */
 		return lastBestMove;
 		
-	} /* End of nextMove(). */
+	} /* End of think(). */
+	
+	
+	/**
+	 * Starts the ponder thread after our move: It thinks about our next move
+	 * in the situation after the answer of the enemy we expect, which is the
+	 * next move of our principal variation.
+	 * 
+	 * We don't ponder if we don't know what the enemy will answer, if we
+	 * have no move after it, or in the endgame, where the endgame solver can't
+	 * be told to go on with our own time.
+	 * 
+	 * @param situation The situation before our move. It is left unchanged.
+	 * @param move Our move.
+	 */
+	private void startPondering( BitGameBoard situation, Coordinates move ) {
+		
+		/* Does the principal variation start here and with our move? */
+		int square = BitGameBoard.square( move );
+		if ( pvSize < 2 || pvKeys[ 0 ] != situation.getHash() || principalVariation[ 0 ] != square ) {
+			return;
+		}
+		
+		/* Our move and the answer of the enemy. */
+		final BitGameBoard ponderBoard = new BitGameBoard( situation );
+		ponderBoard.play( ownColor, square, ponderBoard.flips( ownColor, square ) );
+		int answer = principalVariation[ 1 ];
+		if ( answer == BitGameBoard.PASS ) {
+			ponderBoard.pass( enemyColor );
+		} else {
+			ponderBoard.play( enemyColor, answer, ponderBoard.flips( enemyColor, answer ) );
+		}
+		
+		/* Anything to think about? */
+		if ( !ponderBoard.isMoveAvailable( ownColor ) || Long.bitCount( ponderBoard.getEmpty() ) <= endgameEmpties ) {
+			return;
+		}
+		
+		ponderOwn = ponderBoard.getStones( ownColor );
+		ponderOther = ponderBoard.getStones( enemyColor );
+		ponderMove = null;
+		pondering = true;
+		abort = false;
+		clock.startMove( PONDER_TIMEOUTS * timeout );
+		
+		ponderThread = new Thread( new Runnable() {
+			public void run() {
+				ponderMove = think( ponderBoard );
+			}
+		}, "Lynx pondering" );
+		
+		/* It must not keep the program alive after the last game. */
+		ponderThread.setDaemon( true );
+		ponderThread.start();
+		
+	} /* End of startPondering(). */
+	
+	
+	/**
+	 * Stops the ponder thread when it's our turn again. If the enemy answered
+	 * as we expected (a ponder hit), the ponder thread goes on searching
+	 * where it is, but only as long as our time for this move lasts, and
+	 * we take its move. Else it stops right away.
+	 * 
+	 * @param currentBoard The current situation.
+	 * @return The move found by the ponder thread or null if we have to
+	 * search ourselves.
+	 */
+	private Coordinates stopPondering( BitGameBoard currentBoard ) {
+		
+		if ( ponderThread == null ) {
+			return null;
+		}
+		
+		boolean hit = currentBoard.getStones( ownColor ) == ponderOwn
+				&& currentBoard.getStones( enemyColor ) == ponderOther;
+		if ( hit ) {
+			/*
+			 * From now on it's our own time. The clock still knows the levels
+			 * searched so far, so that it can tell whether the next one fits.
+			 */
+			clock.setTimeout( timeout );
+			pondering = false;
+		} else {
+			abort = true;
+		}
+		joinPonderThread();
+		
+		return hit ? ponderMove : null;
+		
+	} /* End of stopPondering(). */
+	
+	
+	/**
+	 * Waits until the ponder thread has stopped.
+	 */
+	private void joinPonderThread() {
+		
+		try {
+			ponderThread.join();
+		} catch ( InterruptedException e ) {
+			/* We are to stop as well, but the ponder thread stops soon anyway. */
+			Thread.currentThread().interrupt();
+		}
+		ponderThread = null;
+		pondering = false;
+		
+	} /* End of joinPonderThread(). */
 	
 	
 	/**
@@ -281,23 +732,18 @@ public class Lynx implements ReversiPlayer {
 	 * @param depth The current depth.
 	 * @return The value of this node.
 	 */
-	private double maxValue( TextGameBoard situation, double alpha, double beta, int depth ) {
+	private double maxValue( BitGameBoard situation, double alpha, double beta, int depth ) {
 		
+		/* The principal variation from here is empty until we find a move. */
+		int ply = rootDepth - depth;
+		pvLength[ ply ] = ply;
 		
 		/*
-		 * If abort is set, then we have to return immediately without wasting some time.
-		 */
-		if ( abort ) {
-			return Double.NEGATIVE_INFINITY;
-		}
-
-		/*
-		 * We have to check here if we're *really* running out of time. If yes we set
-		 * the abort-bit and return immediately.
+		 * If abort is set or we're *really* running out of time, then we have to
+		 * stop immediately without wasting some time (see SearchAbortedException.java).
 		 */
-		if ( !isTimeOk() ) {
-			abort = true;
-			return Double.NEGATIVE_INFINITY;
+		if ( isStopped() ) {
+			throw SearchAbortedException.INSTANCE;
 		}
 		
 		/*
@@ -310,11 +756,11 @@ public class Lynx implements ReversiPlayer {
 		if ( gameOver(situation) ) {
 			int diff = situation.countStones( ownColor ) - situation.countStones( enemyColor );
 			if ( diff > 0 ) {
-				return 3 + evaluate(situation);
+				return 3 + accumulator.evaluate( ownColor );
 			} else if ( diff < 0 ) {
-				return -3 + evaluate(situation);
+				return -3 + accumulator.evaluate( ownColor );
 			} else {
-				return evaluate( situation );
+				return accumulator.evaluate( ownColor );
 			}
 		}
 		
@@ -323,77 +769,142 @@ public class Lynx implements ReversiPlayer {
 		 * situation.
 		 */
 		if ( depth <= 0 ) {
-			return evaluate( situation );
+			return accumulator.evaluate( ownColor );
 		}
 		
-		/* Copy the current situation in a new TextGameBoard to perform our next move on. */
-		TextGameBoard boardAfterNextMove = new TextGameBoard( situation );
+		/* All our possible moves, one bit per move. */
+		long moves = situation.legalMoves( ownColor );
 		
 		/* Is there a possible move for *us*? */
-		if ( !situation.isMoveAvailable( ownColor) ) {
+		if ( moves == 0 ) {
 			
 			/* If not, we pass, but we go still further down in our tree! */
-			return minValue( situation, alpha, beta, depth - 1);
+			situation.pass( ownColor );
+			accumulator.pass();
+			double result = minValue( situation, alpha, beta, depth - 1);
+			situation.undo();
+			accumulator.undo();
+			updatePrincipalVariation( ply, BitGameBoard.PASS );
+			return result;
+		}
+		
+		/*
+		 * Let's see whether we have already searched this situation, either in
+		 * an earlier iteration or after another move order. If it was searched
+		 * deep enough and the stored score decides this node, we can return it
+		 * right away. The root node always searches, because it has
+		 * to find the move. Else we use its best move to try first.
+		 */
+		long key = situation.getHash();
+		long entry = table.probe( key );
+		int hashMove = TranspositionTable.NO_MOVE;
+		if ( entry != 0 ) {
+			if ( depth != rootDepth && TranspositionTable.getDepth( entry ) >= depth ) {
+				double score = TranspositionTable.getScore( entry );
+				int bound = TranspositionTable.getBound( entry );
+				if ( bound == TranspositionTable.EXACT
+						|| ( bound == TranspositionTable.LOWER_BOUND && score >= beta )
+						|| ( bound == TranspositionTable.UPPER_BOUND && score <= alpha ) ) {
+					return score;
+				}
+			}
+			hashMove = TranspositionTable.getMove( entry );
+		}
+		
+		/* On the principal variation of the last level, its move goes first. */
+		if ( ply < pvSize && pvKeys[ ply ] == key ) {
+			hashMove = principalVariation[ ply ];
 		}
 		
 		/*
 		 * We need some variables.
 		 */
-		Coordinates coord = null;
-		Coordinates localBestMove = null;
+		int square;
+		int localBestSquare = TranspositionTable.NO_MOVE;
+		double alphaOrig = alpha;
+		double result;
 		
 		 /* Setting bestResult initially to -infty. */
 		double bestResult = Double.NEGATIVE_INFINITY;
 		
 		/*
-		 * Now we iterate over every field and search the move leading to the
-		 * greatest result (we are the max node!).
+		 * Now we iterate over every possible move and search the move leading to the
+		 * greatest result (we are the max node!). The most promising moves come
+		 * first, so that the cutoffs come early (see player.MoveOrdering).
 		 */
-		for ( int row = 1; row <= SIZE; row++ ) {
-			for ( int col = 1; col <= SIZE; col++ ) {
-				
-				/* Preparing the coordinates of this move. */
-				coord = new Coordinates( row, col );
-				
-				/*
-				 * If the move is valid, we do it and check whether it's value is 
-				 * greater than one we've found before. Because this is a max-node
-				 * we use minValue to evaluate the resulting situation.
-				 */
-				if ( boardAfterNextMove.checkMove( ownColor, coord) ) {
-					boardAfterNextMove.makeMove( ownColor, coord );
-					
-					/* Recursion */
-					alpha = minValue( boardAfterNextMove, alpha, beta, depth-1);
-					
-					/* Is this move better than another found before? */
-					if ( alpha > bestResult ) {
-						 localBestMove = coord;
-						 bestResult = alpha;
-					}
-				}
+		int[] ordered = ordering.order( moves, ownColor, ply, hashMove );
+		int count = Long.bitCount( moves );
+		for ( int i = 0; i < count; i++ ) {
+			
+			/* Preparing the square of this move. */
+			square = ordered[ i ];
+			
+			/*
+			 * We do the move and check whether it's value is greater than one
+			 * we've found before. Because this is a max-node we use minValue to
+			 * evaluate the resulting situation.
+			 */
+			long flips = situation.flips( ownColor, square );
+			situation.play( ownColor, square, flips );
+			accumulator.play( ownColor, square, flips );
+			
+			/* Recursion */
+			result = minValue( situation, alpha, beta, depth-1);
+			
+			/*
+			 * Taking the move back! This restores the situation from the undo stack
+			 * of the board instead of copying it.
+			 */
+			situation.undo();
+			accumulator.undo();
+			
+			/* Is this move better than another found before? */
+			if ( result > bestResult ) {
+				 localBestSquare = square;
+				 bestResult = result;
+			}
+			
+			/*
+			 * Raising alpha. Note that alpha must never go down again, else the
+			 * value of this node would be the one of the last move instead of
+			 * the one of the best move.
+			 */
+			if ( result > alpha ) {
+				alpha = result;
+				updatePrincipalVariation( ply, square );
 				
 				/*
-				 * Now we test if we can do a break...
+				 * The root node tells nextMove() its best move right away, so that
+				 * it is known even if the search is aborted before the other moves
+				 * are done.
 				 */
-				if ( alpha >= beta ) {
-					//System.out.println("(II) Beta cut!");
-					break;
+				if ( depth == rootDepth ) {
+					bestMove = BitGameBoard.coordinates( square );
 				}
-				
-				/*
-				 * Resetting our board!
-				 */
-				boardAfterNextMove.updateBoard( situation );
 			}
-		} /* End of looping through the fields... */
+			
+			/*
+			 * Now we test if we can do a break...
+			 */
+			if ( alpha >= beta ) {
+				//System.out.println("(II) Beta cut!");
+				ordering.goodMove( ownColor, ply, square, depth );
+				break;
+			}
+		} /* End of looping through the moves... */
 		
 		/*
-		 * We would have to return *two* values: The evaluation of the best move found 
-		 * *and* its coordinates. Because this is impossible we write the coordinates
-		 * into a global variable which then is accessed by nextMove().
+		 * Remembering what we found for later iterations. If the search had been
+		 * aborted, we wouldn't be here.
 		 */
-		bestMove = localBestMove;
+		if ( alpha >= beta ) {
+			table.store( key, depth, TranspositionTable.LOWER_BOUND, alpha, localBestSquare );
+		} else if ( alpha > alphaOrig ) {
+			table.store( key, depth, TranspositionTable.EXACT, alpha, localBestSquare );
+		} else {
+			table.store( key, depth, TranspositionTable.UPPER_BOUND, alpha, TranspositionTable.NO_MOVE );
+		}
+		
 		return alpha;
 		
 	} /* End of maxValue(). */
@@ -406,24 +917,19 @@ public class Lynx implements ReversiPlayer {
 	 * @param depth The current depth.
 	 * @return The value of this node.
 	 */
-	private double minValue( TextGameBoard situation, double alpha, double beta, int depth ) {
+	private double minValue( BitGameBoard situation, double alpha, double beta, int depth ) {
+		
+		/* The principal variation from here is empty until we find a move. */
+		int ply = rootDepth - depth;
+		pvLength[ ply ] = ply;
 		
 		/*
-		 * If abort is set, then we have to return immediately without wasting some time.
+		 * If abort is set or we're *really* running out of time, then we have to
+		 * stop immediately without wasting some time (see SearchAbortedException.java).
 		 */
-		if ( abort ) {
-			return Double.NEGATIVE_INFINITY;
+		if ( isStopped() ) {
+			throw SearchAbortedException.INSTANCE;
 		}
-
-		/*
-		 * We have to check here if we're *really* running out of time. If yes, we set
-		 * the abort-bit and return immediately.
-		 */
-		if ( !isTimeOk() ) {
-			abort = true;
-			return Double.NEGATIVE_INFINITY;
-		}
-		
 		
 		/* Check whether the game is over and if yes, who did win. If *we* win, the value
 		 * 3 + evaluate(situation) is returned. This makes sure that we chose the best
@@ -435,11 +941,11 @@ public class Lynx implements ReversiPlayer {
 		if ( gameOver(situation) ) {
 			int diff = situation.countStones( ownColor ) - situation.countStones( enemyColor );
 			if ( diff > 0 ) {
-				return 3 + evaluate(situation);
+				return 3 + accumulator.evaluate( ownColor );
 			} else if ( diff < 0 ) {
-				return -3 + evaluate(situation);
+				return -3 + accumulator.evaluate( ownColor );
 			} else {
-				return evaluate( situation );
+				return accumulator.evaluate( ownColor );
 			}
 		}
 		
@@ -448,97 +954,444 @@ public class Lynx implements ReversiPlayer {
 		 * situation.
 		 */
 		if ( depth <= 0 ) {
-			return evaluate( situation );
+			return accumulator.evaluate( ownColor );
 		}
 		
-		/* Copy the current situation in a new TextGameBoard to perform our next move on. */
-		TextGameBoard boardAfterNextMove = new TextGameBoard( situation );
+		/* All possible moves of the enemy, one bit per move. */
+		long moves = situation.legalMoves( enemyColor );
 		
 		/* Is there a possible move for the *enemy*? */
-		if ( !situation.isMoveAvailable( enemyColor ) ) {
+		if ( moves == 0 ) {
 			
 			/* If not, we pass, but we go still further down in our tree! */
-			return maxValue( situation, alpha, beta, depth - 1);
+			situation.pass( enemyColor );
+			accumulator.pass();
+			double result = maxValue( situation, alpha, beta, depth - 1);
+			situation.undo();
+			accumulator.undo();
+			updatePrincipalVariation( ply, BitGameBoard.PASS );
+			return result;
+		}
+		
+		/*
+		 * Let's see whether we have already searched this situation, either in
+		 * an earlier iteration or after another move order. If it was searched
+		 * deep enough and the stored score decides this node, we can return it
+		 * right away. Else we use its best move to try first.
+		 */
+		long key = situation.getHash();
+		long entry = table.probe( key );
+		int hashMove = TranspositionTable.NO_MOVE;
+		if ( entry != 0 ) {
+			if ( TranspositionTable.getDepth( entry ) >= depth ) {
+				double score = TranspositionTable.getScore( entry );
+				int bound = TranspositionTable.getBound( entry );
+				if ( bound == TranspositionTable.EXACT
+						|| ( bound == TranspositionTable.LOWER_BOUND && score >= beta )
+						|| ( bound == TranspositionTable.UPPER_BOUND && score <= alpha ) ) {
+					return score;
+				}
+			}
+			hashMove = TranspositionTable.getMove( entry );
+		}
+		
+		/* On the principal variation of the last level, its move goes first. */
+		if ( ply < pvSize && pvKeys[ ply ] == key ) {
+			hashMove = principalVariation[ ply ];
 		}
 		
 		/*
 		 * We need some variables.
 		 */
-		Coordinates coord = null;
+		int square;
+		int localBestSquare = TranspositionTable.NO_MOVE;
+		double betaOrig = beta;
+		double result;
+		
+		/* Setting bestResult initially to +infty. */
+		double bestResult = Double.POSITIVE_INFINITY;
 		
 		/*
-		 * Now we iterate over every field and search the move leading to the
-		 * lowest result (we are the min node!).
+		 * Now we iterate over every possible move and search the move leading to the
+		 * lowest result (we are the min node!), again the most promising ones first.
 		 */
-		for ( int row = 1; row <= SIZE; row++ ) {
-			for ( int col = 1; col <= SIZE; col++ ) {
-				
-				/* Preparing the coordinates of this move. */
-				coord = new Coordinates( row, col );
-				
-				/*
-				 * If the move is valid, we do it and check whether it's value is 
-				 * greater than one we've found before. Because this is a max-node
-				 * we use minValue to evaluate the resulting situation.
-				 */
-				if ( boardAfterNextMove.checkMove( enemyColor, coord) ) {
-					boardAfterNextMove.makeMove( enemyColor, coord );
-					beta = Math.min( beta, maxValue( boardAfterNextMove, alpha, beta, depth - 1) );
-				}
-				
-				/*
-				 * Check if we can do a break...
-				 */
-				if ( beta <= alpha ) {
-					// System.out.println("(II) Alpha cut!");
-					break;
-				}
-				/*
-				 * Resetting our board!
-				 */
-				boardAfterNextMove.updateBoard( situation );
+		int[] ordered = ordering.order( moves, enemyColor, ply, hashMove );
+		int count = Long.bitCount( moves );
+		for ( int i = 0; i < count; i++ ) {
+			
+			/* Preparing the square of this move. */
+			square = ordered[ i ];
+			
+			/*
+			 * We do the move and check whether it's value is lower than one
+			 * we've found before. Because this is a min-node we use maxValue to
+			 * evaluate the resulting situation.
+			 */
+			long flips = situation.flips( enemyColor, square );
+			situation.play( enemyColor, square, flips );
+			accumulator.play( enemyColor, square, flips );
+			result = maxValue( situation, alpha, beta, depth - 1);
+			
+			/* Taking the move back! */
+			situation.undo();
+			accumulator.undo();
+			
+			/* Is this move better (for the enemy) than another found before? */
+			if ( result < bestResult ) {
+				localBestSquare = square;
+				bestResult = result;
 			}
-		} /* End of looping through the fields... */
+			if ( result < beta ) {
+				beta = result;
+				updatePrincipalVariation( ply, square );
+			}
+			
+			/*
+			 * Check if we can do a break...
+			 */
+			if ( beta <= alpha ) {
+				// System.out.println("(II) Alpha cut!");
+				ordering.goodMove( enemyColor, ply, square, depth );
+				break;
+			}
+		} /* End of looping through the moves... */
+		
+		/* Remembering what we found. */
+		if ( beta <= alpha ) {
+			table.store( key, depth, TranspositionTable.UPPER_BOUND, beta, localBestSquare );
+		} else if ( beta < betaOrig ) {
+			table.store( key, depth, TranspositionTable.EXACT, beta, localBestSquare );
+		} else {
+			table.store( key, depth, TranspositionTable.LOWER_BOUND, beta, TranspositionTable.NO_MOVE );
+		}
 		
 		return beta;
 	} /* End of minValue(). */
 	
+	
+	/**
+	 * Searches the situation with the negamax Principal Variation Search of
+	 * our main Searcher (see Searcher.java). With the Young Brothers Wait
+	 * Concept the search runs in our pool, so that the tasks it starts run
+	 * there as well. With Lazy SMP the helpers search the same situation
+	 * meanwhile, every second one a level deeper, until the main Searcher
+	 * is done.
+	 * 
+	 * The best move is written into bestMove like maxValue() does.
+	 * 
+	 * With the quantized net the main Searcher searches alone, with integer
+	 * scores; the value is the score scaled back to the range of the net.
+	 * 
+	 * @param situation The current situation. It's our turn.
+	 * @param depth The depth to search to.
+	 * @param completeDepth The depth at which the tree is complete.
+	 * @return The value of the situation.
+	 */
+	private double searchPrincipalVariation( final BitGameBoard situation, final int depth, final int completeDepth ) {
+		
+		double result;
+		if ( quantized ) {
+			result = (double)mainSearcher.searchQuantized( situation, depth ) / QuantizedNet.ONE;
+		} else if ( pool != null ) {
+			result = pool.invoke( new RecursiveTask<Double>() {
+				private static final long serialVersionUID = 1L;
+				protected Double compute() {
+					return mainSearcher.search( situation, depth );
+				}
+			} );
+		} else if ( helperPool != null ) {
+			final Searcher.SplitPoint stop = new Searcher.SplitPoint( null );
+			ForkJoinTask<?>[] helpers = new ForkJoinTask<?>[ helperPool.getParallelism() ];
+			for ( int i = 0; i < helpers.length; i++ ) {
+				final int helperDepth = Math.min( depth + ( i + 1 ) % 2, completeDepth );
+				helpers[ i ] = helperPool.submit( new RecursiveAction() {
+					private static final long serialVersionUID = 1L;
+					protected void compute() {
+						Searcher helper = acquireSearcher();
+						try {
+							helper.help( situation, helperDepth, completeDepth, stop );
+						} finally {
+							releaseSearcher( helper );
+						}
+					}
+				} );
+			}
+			
+			result = mainSearcher.search( situation, depth );
+			
+			/* The helpers use the situation, so we wait until they have stopped. */
+			stop.cancel();
+			for ( int i = 0; i < helpers.length; i++ ) {
+				helpers[ i ].quietlyJoin();
+			}
+		} else {
+			result = mainSearcher.search( situation, depth );
+		}
+		
+		int square = mainSearcher.getBestSquare();
+		if ( square != TranspositionTable.NO_MOVE ) {
+			bestMove = BitGameBoard.coordinates( square );
+		} else {
+			bestMove = null;
+		}
+		return result;
+		
+	} /* End of searchPrincipalVariation(). */
+	
+	
+	/**
+	 * Solves the endgame with the endgame solver: First we find out whether
+	 * we win, draw or lose, which takes not more than half of our time. If we
+	 * win, we use the rest of the time to find the move which wins by the most
+	 * discs.
+	 * 
+	 * If we lose (or don't find out in time), we leave it to the normal search:
+	 * all moves lose against a perfect enemy, but the net knows best which of
+	 * them give the enemy a chance to go wrong.
+	 * 
+	 * @param situation The current situation. It's our turn and we have a move.
+	 * @return The move to make or null if the normal search should decide.
+	 */
+	private Coordinates solveEndgame( BitGameBoard situation ) {
+		
+		long own = situation.getStones( ownColor );
+		long other = situation.getStones( enemyColor );
+		
+		/* Win, draw or loss? */
+		int result = solver.solve( own, other, -1, 1, startTime + timeout / 2 );
+		if ( solver.isAborted() || result < 0 ) {
+			return null;
+		}
+		Coordinates move = BitGameBoard.coordinates( solver.getBestMove() );
+		
+		/* A draw is the best we can get, there is nothing more to find. */
+		if ( result == 0 ) {
+			return move;
+		}
+		
+		/*
+		 * We win. By how much? If we run out of time, we just take the winning
+		 * move we already have.
+		 */
+		solver.solve( own, other, 0, EndgameSolver.MAX_SCORE, startTime + timeout - (long)ABORT_TIME_THRESHOLD );
+		if ( !solver.isAborted() ) {
+			move = BitGameBoard.coordinates( solver.getBestMove() );
+		}
+		return move;
+		
+	} /* End of solveEndgame(). */
+	
+	
+	/**
+	 * Makes the principal variation of the node at the given ply the given
+	 * move followed by the principal variation of the node below.
+	 * 
+	 * @param ply The ply of the node.
+	 * @param square The square of the move or BitGameBoard.PASS.
+	 */
+	private void updatePrincipalVariation( int ply, int square ) {
+		
+		pvTable[ ply ][ ply ] = square;
+		System.arraycopy( pvTable[ ply + 1 ], ply + 1, pvTable[ ply ], ply + 1, pvLength[ ply + 1 ] - ply - 1 );
+		pvLength[ ply ] = pvLength[ ply + 1 ];
+		
+	} /* End of updatePrincipalVariation(). */
+	
+	
+	/**
+	 * Takes the principal variation found by the last completed level and
+	 * remembers the keys of the situations along it, so that the nodes on it
+	 * can recognize themselves.
+	 * 
+	 * @param situation The situation at the root. It is left unchanged.
+	 * @param line The principal variation, starting at the root.
+	 * @param length The number of moves in it.
+	 */
+	private void storePrincipalVariation( BitGameBoard situation, int[] line, int length ) {
+		
+		pvSize = length;
+		System.arraycopy( line, 0, principalVariation, 0, pvSize );
+		
+		/* Playing the line to get the keys and taking it back again. */
+		for ( int i = 0; i < pvSize; i++ ) {
+			int player = situation.getSideToMove();
+			int square = principalVariation[ i ];
+			
+			pvKeys[ i ] = situation.getHash();
+			if ( square == BitGameBoard.PASS ) {
+				situation.pass( player );
+			} else {
+				situation.play( player, square, situation.flips( player, square ) );
+			}
+		}
+		for ( int i = 0; i < pvSize; i++ ) {
+			situation.undo();
+		}
+		
+	} /* End of storePrincipalVariation(). */
+	
+	
+	/**
+	 * Drops the part of the principal variation that has been played since it
+	 * was found. If the game left the principal variation, it is dropped
+	 * completely.
+	 * 
+	 * @param situation The current situation.
+	 */
+	private void shiftPrincipalVariation( BitGameBoard situation ) {
+		
+		long key = situation.getHash();
+		int played = 0;
+		while ( played < pvSize && pvKeys[ played ] != key ) {
+			played++;
+		}
+		
+		pvSize -= played;
+		System.arraycopy( principalVariation, played, principalVariation, 0, pvSize );
+		System.arraycopy( pvKeys, played, pvKeys, 0, pvSize );
+		
+	} /* End of shiftPrincipalVariation(). */
+	
+	/**
+	 * @return The number of nodes searched by maxValue(), minValue() and
+	 * all Searchers so far.
+	 */
+	private long countNodes() {
+		
+		long count = nodes;
+		for ( Searcher searcher : allSearchers ) {
+			count += searcher.getNodes();
+		}
+		return count;
+		
+	} /* End of countNodes(). */
+	
+	
+	/**
+	 * Tells a node of the Principal Variation Search which move of the
+	 * principal variation of the last level to try first.
+	 * 
+	 * @param ply The ply of the node.
+	 * @param key The key of its situation.
+	 * @return The move or TranspositionTable.NO_MOVE if the node isn't on the
+	 * principal variation.
+	 */
+	int getPrincipalVariationMove( int ply, long key ) {
+		
+		if ( ply < pvSize && pvKeys[ ply ] == key ) {
+			return principalVariation[ ply ];
+		}
+		return TranspositionTable.NO_MOVE;
+		
+	} /* End of getPrincipalVariationMove(). */
+	
+	
+	/**
+	 * @return The pool of the parallel search or null if we search with one
+	 * thread.
+	 */
+	ForkJoinPool getPool() {
+		return pool;
+	} /* End of getPool(). */
+	
+	
+	/**
+	 * Gives a task of the parallel search a Searcher nobody else uses.
+	 * 
+	 * @return The Searcher. It has to be given back with releaseSearcher().
+	 */
+	Searcher acquireSearcher() {
+		
+		Searcher searcher = idleSearchers.poll();
+		if ( searcher == null ) {
+			searcher = new Searcher( this, table, ownColor, enemyColor );
+			allSearchers.add( searcher );
+		}
+		return searcher;
+		
+	} /* End of acquireSearcher(). */
+	
+	
+	/**
+	 * @return A new Accumulator for our evaluation: the net and the patterns
+	 * have their own ones, other evaluators are wrapped.
+	 */
+	Accumulator createAccumulator() {
+		if ( evaluator instanceof NetEvaluator ) {
+			return new NetAccumulator( ( (NetEvaluator)evaluator ).isFastTanh() );
+		} else if ( evaluator instanceof PatternEvaluator ) {
+			return new PatternAccumulator( (PatternEvaluator)evaluator, ownColor );
+		}
+		return new EvaluatorAccumulator( evaluator );
+	} /* End of createAccumulator(). */
+	
+	
+	/**
+	 * Takes back a Searcher from acquireSearcher().
+	 * 
+	 * @param searcher The Searcher.
+	 */
+	void releaseSearcher( Searcher searcher ) {
+		idleSearchers.add( searcher );
+	} /* End of releaseSearcher(). */
+	
+	
 	/**
 	 * This is just a helper method which checks, if the game is finished.
 	 * 
 	 * @param situation The situation to check.
 	 * @return true if the game is finished, false else.
 	 */
-	private boolean gameOver( TextGameBoard situation ) {
+	static boolean gameOver( BitGameBoard situation ) {
 		
-		/*
-		 * TODO: Maybe here can be found a better (faster) implementation...
-		 */
 		if ( situation.isFull() ) {
 			return true;
 		}
 		
-		if ( situation.isMoveAvailable( ownColor ) || situation.isMoveAvailable( enemyColor ) ) {
+		if ( ( situation.legalMoves( GameBoard.RED ) | situation.legalMoves( GameBoard.GREEN ) ) != 0 ) {
 			return false;
 		}
 		
 		return true;
 	}
 	
+	
 	/**
-	 * This time checks whether we are already near our timeout and therefore should
-	 * soon return a move or if we still have plenty of time to do further calculations.
+	 * Counts a node of maxValue() or minValue() and checks whether the search
+	 * has to stop because we are running out of time. Once it is so, abort is
+	 * set.
 	 * 
-	 * @return true if everything is ok, false else.
+	 * @return true if the search has to stop.
 	 */
-	private boolean isTimeOk() {
-		if ( timeout - (System.currentTimeMillis() - startTime) <= ABORT_TIME_THRESHOLD ) {
-			//DONE: removed System.out
-			//System.out.println("(WW) Runnning out of time...");
-			return false;
+	private boolean isStopped() {
+		
+		if ( ( ++nodes & ( TimeManager.CHECK_INTERVAL - 1 ) ) == 0 ) {
+			checkTime();
 		}
-		return true;
-	} /* End of isTimeOk(). */
+		return abort;
+		
+	} /* End of isStopped(). */
+	
+	
+	/**
+	 * Looks at the clock and sets abort if the time is up. The nodes call it
+	 * every TimeManager.CHECK_INTERVAL nodes.
+	 */
+	void checkTime() {
+		
+		if ( clock.isTimeUp() ) {
+			abort = true;
+		}
+		
+	} /* End of checkTime(). */
+	
+	
+	/**
+	 * @return true if the search has been aborted.
+	 */
+	boolean isAborted() {
+		return abort;
+	} /* End of isAborted(). */
 	
 	
 	/**
@@ -547,70 +1400,19 @@ public class Lynx implements ReversiPlayer {
 	 * given situation.
 	 * 
 	 * NOTE: The evaluation is *always* done from our own perspective, say:
-	 * Greater values are good for us, lower values are bad for us!
+	 * Greater values are good for us, lower values are bad for us! That's why
+	 * our stones are the ones the net sees as its own.
+	 *   The searches use Accumulators instead, which give the same values
+	 * (but for the last bits) much faster. If we were given another Evaluator
+	 * or use the patterns (see Config.getEval()), they evaluate instead of
+	 * the net.
 	 *  
 	 * @param situation The situation to evaluate.
 	 * @return The value of this situation.
 	 */
-	private double evaluate( TextGameBoard situation ) {
-		try {
-			return myNet.getOutput( genInputVector( situation ) );
-		} catch ( Exception e ) {
-			/*
-			 * If we get an exception something has gone terribly wrong within
-			 * the net. This should NEVER happen. We return 0 in the hope, that
-			 * there may be other moves having greater or lower values so that
-			 * our player doesn't get stuck here because of this error. But this
-			 * is probably an illusion...
-			 */
-			System.out.println("(EE) An error occured within Net.genOutput()!");
-			System.out.println( e.getMessage() );
-			return 0;
-		}
+	private double evaluate( BitGameBoard situation ) {
+		return evaluator.evaluate( situation, ownColor );
 	} /* End of evaluate(). */
-	
-	
-	/**
-	 * Generates a vector (array) of the current situation of the board so that it
-	 * can be processed by the neural network.
-	 * 
-	 * @param tgb The situation to transform.
-	 * @return A vector (array) containing the current situation on the board.
-	 */
-	private double[] genInputVector( TextGameBoard tgb ) {
-		
-		int index = 0;
-		double [] result = new double[ 64 ];
-		
-		int testField = 0;
-		
-		for ( int row = 1; row <= 8; row++ ) {
-			for (int col = 1; col <= 8; col++ ) {
-				try {
-					testField = tgb.getPosition( new Coordinates(row, col) );
-				} catch ( OutOfBoundsException e ) {
-					/* This should not happen! */
-					System.out.println( e.getMessage() );
-					e.printStackTrace();
-				}
-				
-				/*
-				 * We set a field to 1 if it bears a stone of our own color and to -1 if
-				 * it's an enemy's stone. This assures, that the outputs of the net can
-				 * always be interpreted such as that bigger values are *good* for us and
-				 * lower values are *bad* for us.
-				 */
-				if ( testField == ownColor ) {
-					result[index] = 1;
-				} else if ( testField == GameBoard.EMPTY ) {
-					result[index] = 0;
-				} else {
-					result[index] = -1;
-				}
-				index++;
-			}
-		}
-		return result;
-	} /* End of genInputVector(). */
+
 
 } /* End of class Lynx. */
@@ -21,10 +21,16 @@ public class Net {
 	private Neuron hiddenUnitFour;
 	private Neuron outputUnit;
 	
+	/* Whether the neurons use Tanh.fast() instead of Math.tanh(). */
+	private boolean fastTanh;
+	
 	/* Constants. */
 	private final static int INPUT_LENGTH = 64;
 	
-	/* Weights and other constants as calculated in [1]. */
+	/*
+	 * Weights and other constants as calculated in [1]. The biases and the
+	 * output weight are used by NetAccumulator as well.
+	 */
 	private final static double[][] hiddenUnitWeights = {
 											{-0.412767, -0.086716, -0.137243, -0.116847, -0.108441, -0.132597, -0.082691, -0.447977},
 											{ 0.095415,  0.066026,  0.081115,  0.039152,  0.037808,  0.075500,  0.060762,  0.098185},
@@ -35,25 +41,41 @@ public class Net {
 											{ 0.107028,  0.068674, -0.015182,  0.002003,  0.002427, -0.016564,  0.080611,  0.101164},
 											{-0.185074,  0.113824,  0.012961,  0.036921,  0.034189,  0.020531,  0.106863, -0.190973}
 											};
-	private final static double hiddenUnitBias = 0.046755;
-	private final static double outputBias = 0.051627;
-	private final static double outputWeight = -0.608910;
+	final static double hiddenUnitBias = 0.046755;
+	final static double outputBias = 0.051627;
+	final static double outputWeight = -0.608910;
+	
+	/* The weight vectors of the four hidden units, for getOutput( long, long ). */
+	private final static double[][] inputWeights = getHiddenUnitWeights();
 	
 	
 	/**
 	 * Creates a new Net of the structure described in [1].
 	 */
 	public Net() {
+		this( false );
+	} /* End of constructor Net(). */
+	
+	
+	/**
+	 * Creates a new Net of the structure described in [1] whose neurons use,
+	 * if wanted, the fast hyperbolic tangent of Tanh.java.
+	 * 
+	 * @param fastTanh true for Tanh.fast(), false for Math.tanh().
+	 */
+	public Net( boolean fastTanh ) {
+		
+		this.fastTanh = fastTanh;
 		
 		/* Creating the four hidden units. */
-		hiddenUnitOne = new Neuron( getWeightVectorOne(), hiddenUnitBias );
-		hiddenUnitTwo = new Neuron( getWeightVectorTwo(), hiddenUnitBias );
-		hiddenUnitThree = new Neuron( getWeightVectorThree(), hiddenUnitBias );
-		hiddenUnitFour = new Neuron( getWeightVectorFour(), hiddenUnitBias );
+		hiddenUnitOne = new Neuron( getWeightVectorOne(), hiddenUnitBias, fastTanh );
+		hiddenUnitTwo = new Neuron( getWeightVectorTwo(), hiddenUnitBias, fastTanh );
+		hiddenUnitThree = new Neuron( getWeightVectorThree(), hiddenUnitBias, fastTanh );
+		hiddenUnitFour = new Neuron( getWeightVectorFour(), hiddenUnitBias, fastTanh );
 		
 		/* Creating the output neuron. */
 		double [] opw = {outputWeight, outputWeight, outputWeight, outputWeight};
-		outputUnit = new Neuron( opw, outputBias );
+		outputUnit = new Neuron( opw, outputBias, fastTanh );
 		
 	} /* End of constructor Net(). */
 	
@@ -73,13 +95,69 @@ public class Net {
 	} /* End of getOutput(). */
 	
 	
+	/**
+	 * Calculates the answer of the net to a situation given as bitboards (see
+	 * reversi.BitGameBoard), with stones of the one player as inputs of 1 and
+	 * stones of the other one as inputs of -1. This is the same as
+	 * getOutput( double[] ) with such an input vector, to the last bit, but
+	 * it doesn't need an input vector, allocates nothing and can't fail.
+	 * 
+	 * The neurons add up weight * input over all 64 inputs in their order. An
+	 * empty square adds 0 to a sum that can't be -0, which changes nothing,
+	 * so it's enough to add up the occupied squares in the same order. All
+	 * four hidden units are done in one pass over the stones.
+	 * 
+	 * @param own The stones whose view the answer is from.
+	 * @param enemy The stones of the other player.
+	 * @return The answer of the net to that situation.
+	 */
+	public double getOutput( long own, long enemy ) {
+		
+		double sumOne = 0;
+		double sumTwo = 0;
+		double sumThree = 0;
+		double sumFour = 0;
+		
+		for ( long stones = own | enemy; stones != 0; stones &= stones - 1 ) {
+			int square = Long.numberOfTrailingZeros( stones );
+			
+			/* The input, 1 or -1, without a branch the CPU could mispredict. */
+			double input = ( ( own >>> square ) & 1 ) * 2 - 1;
+			sumOne = sumOne + ( inputWeights[ 0 ][ square ] * input );
+			sumTwo = sumTwo + ( inputWeights[ 1 ][ square ] * input );
+			sumThree = sumThree + ( inputWeights[ 2 ][ square ] * input );
+			sumFour = sumFour + ( inputWeights[ 3 ][ square ] * input );
+		}
+		
+		/* The output unit adds up its inputs in the same order. */
+		double linearComb = 0;
+		linearComb = linearComb + ( outputWeight * tanh( sumOne + hiddenUnitBias ) );
+		linearComb = linearComb + ( outputWeight * tanh( sumTwo + hiddenUnitBias ) );
+		linearComb = linearComb + ( outputWeight * tanh( sumThree + hiddenUnitBias ) );
+		linearComb = linearComb + ( outputWeight * tanh( sumFour + hiddenUnitBias ) );
+		return tanh( linearComb + outputBias );
+		
+	} /* End of getOutput(). */
+	
+	
+	/**
+	 * The hyperbolic tangent the neurons of this net use.
+	 * 
+	 * @param x The argument.
+	 * @return Math.tanh(x) or Tanh.fast(x).
+	 */
+	private double tanh( double x ) {
+		return fastTanh ? Tanh.fast( x ) : Math.tanh( x );
+	} /* End of tanh(). */
+	
+	
 	/**
 	 * This generates the 64-element vector containing the weights
 	 * used by hiddenUnitOne out of the hiddenUnitWeights-matrix.
 	 * 
 	 * @return 64-element-Vector for hiddenUnitOne.
 	 */
-	private double [] getWeightVectorOne( ) {
+	private static double [] getWeightVectorOne( ) {
 		
 		double [] result = new double[ INPUT_LENGTH ];
 		int index = 0;
@@ -102,7 +180,7 @@ public class Net {
 	 * 
 	 * @return 64-element-Vector for hiddenUnitTwo.
 	 */
-	private double [] getWeightVectorTwo( ) {
+	private static double [] getWeightVectorTwo( ) {
 		
 		double [] result = new double[ INPUT_LENGTH ];
 		int index = 0;
@@ -125,7 +203,7 @@ public class Net {
 	 * 
 	 * @return 64-element-Vector for hiddenUnitThree.
 	 */
-	private double [] getWeightVectorThree( ) {
+	private static double [] getWeightVectorThree( ) {
 		
 		double [] result = new double[ INPUT_LENGTH ];
 		int index = 0;
@@ -148,7 +226,7 @@ public class Net {
 	 * 
 	 * @return 64-element-Vector for hiddenUnitFour.
 	 */
-	private double [] getWeightVectorFour( ) {
+	private static double [] getWeightVectorFour( ) {
 		
 		double [] result = new double[ INPUT_LENGTH ];
 		int index = 0;
@@ -165,6 +243,17 @@ public class Net {
 		return result;
 	} /* End of getWeightVectorFour(). */
 	
+	/**
+	 * The weights of the four hidden units, for evaluating the net in another
+	 * way than with Neurons (see NetAccumulator.java).
+	 * 
+	 * @return The weight vectors of hiddenUnitOne to hiddenUnitFour, each one
+	 * indexed like the input vector.
+	 */
+	static double [][] getHiddenUnitWeights( ) {
+		return new double [][] { getWeightVectorOne(), getWeightVectorTwo(), getWeightVectorThree(), getWeightVectorFour() };
+	} /* End of getHiddenUnitWeights(). */
+	
 	/*
 	 * NOTE: Removed the methods main() and genRandomInput() which are just
 	 * used for testing purposes and hence are irrelevant for the player.
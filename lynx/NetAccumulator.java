@@ -0,0 +1,163 @@
+package lynx;
+
+import reversi.BitGameBoard;
+import reversi.GameBoard;
+import player.MoveOrdering;
+
+
+/**
+ * Evaluates situations with our neural net (see Net.java) while a search
+ * plays its moves, without looking at the whole board for every leaf.
+ *
+ * Before its tanh, a hidden unit only adds up the weights of the squares,
+ * taken positive for our stones and negative for the enemy's. So its sum
+ * changes by a few weights with every move: the one of the new stone and,
+ * twice, the ones of the flipped stones. We keep the four sums up to date
+ * move by move, like the accumulators of an NNUE, and a leaf only costs the
+ * five tanh of the net. The sums are kept for RED (RED stones positive), the
+ * ones for GREEN are just their negation.
+ *
+ * Every move pushes new sums on a stack and undo() pops them, so going back
+ * gives exactly the sums from before. The sums may differ from the ones of
+ * Net in the last bits, because they are added up in another order.
+ *
+ * An instance must not be used by more than one thread at the same time.
+ */
+class NetAccumulator implements Accumulator {
+
+	/* The weights of the hidden units, [unit][square]. */
+	private static final double[][] WEIGHTS = Net.getHiddenUnitWeights();
+
+	/* The sums of the hidden units, [ply][unit], and the current ply. */
+	private final double[][] sums = new double[ MoveOrdering.MAX_PLY + 1 ][ 4 ];
+	private int top = 0;
+
+	/* Whether we use Tanh.fast() instead of Math.tanh(). */
+	private final boolean fastTanh;
+
+
+	/**
+	 * Creates an accumulator.
+	 *
+	 * @param fastTanh true for Tanh.fast(), false for Math.tanh().
+	 */
+	NetAccumulator( boolean fastTanh ) {
+		this.fastTanh = fastTanh;
+	} /* End of constructor NetAccumulator(). */
+
+
+	/**
+	 * Computes the sums of the given situation from scratch. The moves played
+	 * before are forgotten.
+	 *
+	 * @param board The situation.
+	 */
+	public void reset( BitGameBoard board ) {
+
+		top = 0;
+		double[] sum = sums[ 0 ];
+		for ( int unit = 0; unit < 4; unit++ ) {
+			sum[ unit ] = 0;
+		}
+
+		for ( long red = board.getStones( GameBoard.RED ); red != 0; red &= red - 1 ) {
+			add( sum, Long.numberOfTrailingZeros( red ), 1 );
+		}
+		for ( long green = board.getStones( GameBoard.GREEN ); green != 0; green &= green - 1 ) {
+			add( sum, Long.numberOfTrailingZeros( green ), -1 );
+		}
+
+	} /* End of reset(). */
+
+
+	/**
+	 * Plays a move, see BitGameBoard.play().
+	 *
+	 * @param player The player who moves.
+	 * @param square The square of the new stone.
+	 * @param flips The stones it flips.
+	 */
+	public void play( int player, int square, long flips ) {
+
+		double[] from = sums[ top ];
+		double[] sum = sums[ ++top ];
+		for ( int unit = 0; unit < 4; unit++ ) {
+			sum[ unit ] = from[ unit ];
+		}
+
+		/* A flipped stone goes from minus its weight to plus its weight. */
+		double sign = ( player == GameBoard.RED ) ? 1 : -1;
+		add( sum, square, sign );
+		for ( ; flips != 0; flips &= flips - 1 ) {
+			add( sum, Long.numberOfTrailingZeros( flips ), 2 * sign );
+		}
+
+	} /* End of play(). */
+
+
+	/**
+	 * Plays a pass, see BitGameBoard.pass(). The sums stay the same, but the
+	 * pass has to be taken back like a move.
+	 */
+	public void pass() {
+
+		double[] from = sums[ top ];
+		double[] sum = sums[ ++top ];
+		for ( int unit = 0; unit < 4; unit++ ) {
+			sum[ unit ] = from[ unit ];
+		}
+
+	} /* End of pass(). */
+
+
+	/**
+	 * Takes back the last move or pass.
+	 */
+	public void undo() {
+		top--;
+	} /* End of undo(). */
+
+
+	/**
+	 * Evaluates the current situation like Lynx.evaluate().
+	 *
+	 * @param ownColor The player whose view the value is from.
+	 * @return The answer of the net, between -1 and 1.
+	 */
+	public double evaluate( int ownColor ) {
+
+		double[] sum = sums[ top ];
+		double sign = ( ownColor == GameBoard.RED ) ? 1 : -1;
+
+		/* The output unit, like a Neuron does it. */
+		double linearComb = 0;
+		if ( fastTanh ) {
+			for ( int unit = 0; unit < 4; unit++ ) {
+				linearComb = linearComb + Net.outputWeight * Tanh.fast( sign * sum[ unit ] + Net.hiddenUnitBias );
+			}
+			return Tanh.fast( linearComb + Net.outputBias );
+		}
+		for ( int unit = 0; unit < 4; unit++ ) {
+			linearComb = linearComb + Net.outputWeight * Math.tanh( sign * sum[ unit ] + Net.hiddenUnitBias );
+		}
+		return Math.tanh( linearComb + Net.outputBias );
+
+	} /* End of evaluate(). */
+
+
+	/**
+	 * Adds the weights of a square to the sums.
+	 *
+	 * @param sum The sums.
+	 * @param square The square.
+	 * @param factor How many times to add them.
+	 */
+	private static void add( double[] sum, int square, double factor ) {
+
+		for ( int unit = 0; unit < 4; unit++ ) {
+			sum[ unit ] += factor * WEIGHTS[ unit ][ square ];
+		}
+
+	} /* End of add(). */
+
+} /* End of class NetAccumulator. */
@@ -0,0 +1,95 @@
+package lynx;
+
+import reversi.BitGameBoard;
+
+
+/**
+ * Evaluates many situations at once with our neural net (see Net.java), for
+ * uses where the throughput counts rather than the time for one situation:
+ * labelling positions for training, self play and the like. None of the
+ * players uses it so far; benchmark.NetBenchmark measures it.
+ *
+ * This class evaluates one situation after the other with
+ * Net.getOutput( long, long ). create() returns a VectorNetBatch instead if
+ * it was built (it is in src-vector, because it needs the Vector API, module
+ * jdk.incubator.vector, to compile) and the module is there at run time. It
+ * puts several situations side by side into the lanes of the CPU's vector
+ * registers. The answers are the same either way, see
+ * src-vector/lynx/VectorNetBatch.java.
+ *
+ * An instance keeps buffers of its own, so it must not be used by more than
+ * one thread at the same time.
+ */
+public class NetBatch {
+
+	/* The class that uses the Vector API, if it was built. */
+	private static final String VECTOR_CLASS = "lynx.VectorNetBatch";
+
+	/* The net for situations that are evaluated one by one. */
+	protected final Net net = new Net();
+
+	/* The stones of the situations given as boards. */
+	private long[] own = new long[ 0 ];
+	private long[] enemy = new long[ 0 ];
+
+
+	/**
+	 * Creates the fastest batch there is: a VectorNetBatch if the Vector API
+	 * can be used, a NetBatch otherwise.
+	 *
+	 * @return A new batch.
+	 */
+	public static NetBatch create() {
+
+		try {
+			return (NetBatch)Class.forName( VECTOR_CLASS ).getDeclaredConstructor().newInstance();
+		} catch ( ReflectiveOperationException e ) {
+			/* Built without src-vector. */
+			return new NetBatch();
+		} catch ( LinkageError e ) {
+			/* Compiled with the Vector API, but started without it. */
+			return new NetBatch();
+		}
+
+	} /* End of create(). */
+
+
+	/**
+	 * Evaluates situations from the view of one player, like Lynx.evaluate().
+	 *
+	 * @param boards The situations.
+	 * @param player The player whose view the answers are from.
+	 * @param out Gets the answers, in the same order as the situations.
+	 */
+	public void evaluate( BitGameBoard[] boards, int player, double[] out ) {
+
+		if ( own.length < boards.length ) {
+			own = new long[ boards.length ];
+			enemy = new long[ boards.length ];
+		}
+		for ( int i = 0; i < boards.length; i++ ) {
+			own[ i ] = boards[ i ].getStones( player );
+			enemy[ i ] = boards[ i ].getStones( 3 - player );
+		}
+		evaluate( own, enemy, boards.length, out );
+
+	} /* End of evaluate(). */
+
+
+	/**
+	 * Evaluates situations given as bitboards, see Net.getOutput( long, long ).
+	 *
+	 * @param own The stones whose view the answers are from, per situation.
+	 * @param enemy The stones of the other player, per situation.
+	 * @param count The number of situations.
+	 * @param out Gets the answers, in the same order as the situations.
+	 */
+	public void evaluate( long[] own, long[] enemy, int count, double[] out ) {
+
+		for ( int i = 0; i < count; i++ ) {
+			out[ i ] = net.getOutput( own[ i ], enemy[ i ] );
+		}
+
+	} /* End of evaluate(). */
+
+} /* End of class NetBatch. */
@@ -0,0 +1,55 @@
+package lynx;
+
+import player.Evaluator;
+import reversi.BitGameBoard;
+
+
+/**
+ * Our neural net (see Net.java) as an Evaluator for other players. Lynx
+ * itself evaluates with it, too, unless it is given another Evaluator.
+ */
+public class NetEvaluator implements Evaluator {
+
+	/* The net. getOutput( long, long ) changes nothing, so threads may share it. */
+	private final Net net;
+
+	/* Whether the net uses Tanh.fast(). */
+	private final boolean fastTanh;
+
+
+	/**
+	 * Creates an evaluator with Math.tanh().
+	 */
+	public NetEvaluator() {
+		this( false );
+	} /* End of constructor NetEvaluator(). */
+
+
+	/**
+	 * Creates an evaluator.
+	 *
+	 * @param fastTanh If true, the net uses Tanh.fast() instead of
+	 * Math.tanh().
+	 */
+	public NetEvaluator( boolean fastTanh ) {
+		this.net = new Net( fastTanh );
+		this.fastTanh = fastTanh;
+	} /* End of constructor NetEvaluator(). */
+
+
+	/**
+	 * @see player.Evaluator#evaluate(reversi.BitGameBoard, int)
+	 */
+	public double evaluate( BitGameBoard board, int player ) {
+		return net.getOutput( board.getStones( player ), board.getStones( 3 - player ) );
+	} /* End of evaluate(). */
+
+
+	/**
+	 * @return true if the net uses Tanh.fast() instead of Math.tanh().
+	 */
+	public boolean isFastTanh() {
+		return fastTanh;
+	} /* End of isFastTanh(). */
+
+} /* End of class NetEvaluator. */
@@ -15,6 +15,7 @@ public class Neuron {
 	/* Local variables. */
 	private double[] weights;
 	private double bias;
+	private boolean fastTanh;
 	
 	
 	/**
@@ -24,8 +25,22 @@ public class Neuron {
 	 * @param bias 
 	 */
 	public Neuron( double[] weights, double bias ) {
+		this( weights, bias, false );
+	} /* End of constructor Neuron(). */
+	
+	
+	/**
+	 * Constructs a new neuron using a specified vector with the weights and,
+	 * if wanted, the fast hyperbolic tangent of Tanh.java.
+	 * 
+	 * @param weights
+	 * @param bias 
+	 * @param fastTanh true for Tanh.fast(), false for Math.tanh().
+	 */
+	public Neuron( double[] weights, double bias, boolean fastTanh ) {
 		this.weights = weights;
 		this.bias = bias;
+		this.fastTanh = fastTanh;
 	} /* End of constructor Neuron(). */
 	
 	
@@ -61,7 +76,11 @@ public class Neuron {
 		}
 		
 		/* It has to be a hyperbolic tangent function. */
-		result = Math.tanh(linearComb + bias );
+		if ( fastTanh ) {
+			result = Tanh.fast( linearComb + bias );
+		} else {
+			result = Math.tanh(linearComb + bias );
+		}
 		
 		return result;
 	} /* End of getOutput(). */
@@ -0,0 +1,119 @@
+package lynx;
+
+import reversi.BitGameBoard;
+import player.MoveOrdering;
+
+import java.util.Arrays;
+
+
+/**
+ * The Accumulator of a PatternEvaluator: keeps the configurations of all
+ * patterns (see PatternEvaluator.java) up to date while a search plays its
+ * moves. A move changes only the patterns through the new stone and the
+ * flipped ones, and a leaf costs one lookup per pattern.
+ *
+ * The configurations are from the view of one player, the one given to the
+ * constructor, so evaluate() only works for that player.
+ *
+ * An instance must not be used by more than one thread at the same time.
+ */
+class PatternAccumulator implements Accumulator {
+
+	/* The weights and the player whose view the configurations are from. */
+	private final PatternEvaluator patterns;
+	private final int ownColor;
+
+	/* The configurations, [ply][pattern], the stones on the board and the current ply. */
+	private final int[][] configurations = new int[ MoveOrdering.MAX_PLY + 1 ][ PatternEvaluator.getPatternCount() ];
+	private final int[] stones = new int[ MoveOrdering.MAX_PLY + 1 ];
+	private int top = 0;
+
+
+	/**
+	 * Creates an accumulator.
+	 *
+	 * @param patterns The weights.
+	 * @param ownColor The player whose view the values are from.
+	 */
+	PatternAccumulator( PatternEvaluator patterns, int ownColor ) {
+		this.patterns = patterns;
+		this.ownColor = ownColor;
+	} /* End of constructor PatternAccumulator(). */
+
+
+	/**
+	 * @see lynx.Accumulator#reset(reversi.BitGameBoard)
+	 */
+	public void reset( BitGameBoard board ) {
+
+		top = 0;
+		int[] configuration = configurations[ 0 ];
+		Arrays.fill( configuration, 0 );
+
+		long own = board.getStones( ownColor );
+		long enemy = board.getStones( 3 - ownColor );
+		for ( long s = own; s != 0; s &= s - 1 ) {
+			PatternEvaluator.add( configuration, Long.numberOfTrailingZeros( s ), 1 );
+		}
+		for ( long s = enemy; s != 0; s &= s - 1 ) {
+			PatternEvaluator.add( configuration, Long.numberOfTrailingZeros( s ), 2 );
+		}
+		stones[ 0 ] = Long.bitCount( own | enemy );
+
+	} /* End of reset(). */
+
+
+	/**
+	 * @see lynx.Accumulator#play(int, int, long)
+	 */
+	public void play( int player, int square, long flips ) {
+
+		int[] configuration = configurations[ top + 1 ];
+		System.arraycopy( configurations[ top ], 0, configuration, 0, configuration.length );
+		stones[ top + 1 ] = stones[ top ] + 1;
+		top++;
+
+		/* Our stones are the digit 1, the enemy's the digit 2. */
+		if ( player == ownColor ) {
+			PatternEvaluator.add( configuration, square, 1 );
+			for ( ; flips != 0; flips &= flips - 1 ) {
+				PatternEvaluator.add( configuration, Long.numberOfTrailingZeros( flips ), -1 );
+			}
+		} else {
+			PatternEvaluator.add( configuration, square, 2 );
+			for ( ; flips != 0; flips &= flips - 1 ) {
+				PatternEvaluator.add( configuration, Long.numberOfTrailingZeros( flips ), 1 );
+			}
+		}
+
+	} /* End of play(). */
+
+
+	/**
+	 * @see lynx.Accumulator#pass()
+	 */
+	public void pass() {
+
+		System.arraycopy( configurations[ top ], 0, configurations[ top + 1 ], 0, configurations[ top ].length );
+		stones[ top + 1 ] = stones[ top ];
+		top++;
+
+	} /* End of pass(). */
+
+
+	/**
+	 * @see lynx.Accumulator#undo()
+	 */
+	public void undo() {
+		top--;
+	} /* End of undo(). */
+
+
+	/**
+	 * @see lynx.Accumulator#evaluate(int)
+	 */
+	public double evaluate( int ownColor ) {
+		return patterns.evaluate( configurations[ top ], stones[ top ] );
+	} /* End of evaluate(). */
+
+} /* End of class PatternAccumulator. */
@@ -0,0 +1,435 @@
+package lynx;
+
+import lookOneAheadPlayer.LookOneAheadPlayer;
+import player.Evaluator;
+import reversi.BitGameBoard;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+
+/**
+ * An evaluation function built from patterns, as an experimental alternative
+ * to our net (see Config.getEval()). A pattern is a fixed group of squares; every way the
+ * stones can lie on them has a weight of its own, and the value of a
+ * situation is the sum of the weights of all patterns on the board.
+ *
+ * The patterns are the ones of strong Othello programs:
+ * - an edge with its two X-squares (10 squares, 4 times on the board),
+ * - the 3x3 corner (9 squares, 4 times),
+ * - the 2x5 corner (10 squares, 8 times),
+ * - the diagonals of length 8 to 4 (2 + 4 + 4 + 4 + 4 times).
+ * The patterns of one kind are rotations and reflections of each other and
+ * share their weights.
+ *   A pattern on the board is the one of KINDS mapped by the first of the
+ * symmetries of transform(), counting from 0, that gives its group of
+ * squares, and its squares are read in that order. For the kinds that are
+ * symmetric in themselves this picks one of two readings: the edges are read
+ * from column 0 (rows 0 and 7) or from row 0 (columns 0 and 7), the 3x3
+ * corners row by row starting at the corner, and the two diagonals of length
+ * 8 from ( 0, 0 ) and from ( 7, 0 ). Weights given to load() must be meant
+ * for this orientation, or be the same for a configuration and its mirror
+ * image.
+ *
+ * The way the stones lie on a pattern is a number in base 3, one digit per
+ * square, with 0 for empty, 1 for our stones and 2 for the enemy's; the first
+ * square of the pattern is the highest digit. It is computed straight from
+ * the bitboards: every stone adds its digit, times the power of 3 of its
+ * place, to every pattern it is part of, so empty squares cost nothing. In
+ * a search PatternAccumulator keeps the numbers up to date move by move;
+ * evaluate( long, long ) computes them from scratch, in an array of its
+ * thread.
+ *   Every kind of pattern can have PHASES sets of weights, one per phase of
+ * the game (by the number of stones on the board), since the same stones
+ * mean different things at the beginning and at the end.
+ *
+ * There are no trained weights yet, so the phases are only a format so far:
+ * just weights read with load() can differ between them. The default
+ * weights are derived from the square table of LookOneAheadPlayer: every
+ * square gives its value (positive for our stones, negative for the
+ * enemy's) in equal parts to the patterns covering it, the same in every
+ * phase. So the default evaluation is exactly that of the square table, only
+ * in patterns, and slower than player.SquareTableEvaluator (see
+ * benchmark.EvaluatorBenchmark). It is there to check the patterns and the
+ * search with them until weights are fitted. The sum is mapped into the
+ * range of the net with tanh( sum / SCALE ).
+ *
+ * An instance doesn't change after it is created, so several threads may use
+ * it at once.
+ */
+public class PatternEvaluator implements Evaluator {
+
+	/* The number of phases of the game with weights of their own. */
+	public static final int PHASES = 6;
+
+	/* The sum which is worth a value of tanh(1), about a corner. */
+	private static final double SCALE = 10000;
+
+	/*
+	 * One pattern of every kind, as { row, col } (from 0) of its squares.
+	 * The others are its rotations and reflections.
+	 */
+	private static final int[][][] KINDS = {
+		/* Edge and X-squares. */
+		{ { 0, 0 }, { 0, 1 }, { 0, 2 }, { 0, 3 }, { 0, 4 }, { 0, 5 }, { 0, 6 }, { 0, 7 }, { 1, 1 }, { 1, 6 } },
+		/* 3x3 corner. */
+		{ { 0, 0 }, { 0, 1 }, { 0, 2 }, { 1, 0 }, { 1, 1 }, { 1, 2 }, { 2, 0 }, { 2, 1 }, { 2, 2 } },
+		/* 2x5 corner. */
+		{ { 0, 0 }, { 0, 1 }, { 0, 2 }, { 0, 3 }, { 0, 4 }, { 1, 0 }, { 1, 1 }, { 1, 2 }, { 1, 3 }, { 1, 4 } },
+		/* The diagonals. */
+		{ { 0, 0 }, { 1, 1 }, { 2, 2 }, { 3, 3 }, { 4, 4 }, { 5, 5 }, { 6, 6 }, { 7, 7 } },
+		{ { 0, 1 }, { 1, 2 }, { 2, 3 }, { 3, 4 }, { 4, 5 }, { 5, 6 }, { 6, 7 } },
+		{ { 0, 2 }, { 1, 3 }, { 2, 4 }, { 3, 5 }, { 4, 6 }, { 5, 7 } },
+		{ { 0, 3 }, { 1, 4 }, { 2, 5 }, { 3, 6 }, { 4, 7 } },
+		{ { 0, 4 }, { 1, 5 }, { 2, 6 }, { 3, 7 } }
+	};
+
+	/* All patterns on the board, [pattern][square], and their kinds. */
+	private static final int[][] PATTERNS;
+	private static final int[] PATTERN_KIND;
+
+	/*
+	 * For every square the patterns it is part of and the power of 3 of its
+	 * place in them, [square][i].
+	 */
+	private static final int[][] SQUARE_PATTERNS = new int[ 64 ][];
+	private static final int[][] SQUARE_POWERS = new int[ 64 ][];
+
+	/* The number of ways the stones can lie on a pattern of every kind. */
+	private static final int[] CONFIGURATIONS = new int[ KINDS.length ];
+
+	/* The configurations evaluate( long, long ) computes, one array per thread. */
+	private static final ThreadLocal<int[]> SCRATCH = new ThreadLocal<int[]>() {
+		@Override
+		protected int[] initialValue() {
+			return new int[ PATTERNS.length ];
+		}
+	};
+
+	static {
+		List<int[]> patterns = new ArrayList<int[]>();
+		List<Integer> kinds = new ArrayList<Integer>();
+		for ( int kind = 0; kind < KINDS.length; kind++ ) {
+			CONFIGURATIONS[ kind ] = power3( KINDS[ kind ].length );
+
+			/* Every symmetry of the board, but every group of squares only once. */
+			List<Long> seen = new ArrayList<Long>();
+			for ( int symmetry = 0; symmetry < 8; symmetry++ ) {
+				int[] squares = new int[ KINDS[ kind ].length ];
+				long mask = 0;
+				for ( int i = 0; i < squares.length; i++ ) {
+					squares[ i ] = transform( KINDS[ kind ][ i ][ 0 ], KINDS[ kind ][ i ][ 1 ], symmetry );
+					mask |= 1L << squares[ i ];
+				}
+				if ( !seen.contains( mask ) ) {
+					seen.add( mask );
+					patterns.add( squares );
+					kinds.add( kind );
+				}
+			}
+		}
+
+		PATTERNS = patterns.toArray( new int[ patterns.size() ][] );
+		PATTERN_KIND = new int[ kinds.size() ];
+		for ( int i = 0; i < PATTERN_KIND.length; i++ ) {
+			PATTERN_KIND[ i ] = kinds.get( i );
+		}
+
+		for ( int square = 0; square < 64; square++ ) {
+			List<Integer> in = new ArrayList<Integer>();
+			List<Integer> powers = new ArrayList<Integer>();
+			for ( int p = 0; p < PATTERNS.length; p++ ) {
+				for ( int i = 0; i < PATTERNS[ p ].length; i++ ) {
+					if ( PATTERNS[ p ][ i ] == square ) {
+						in.add( p );
+						powers.add( power3( PATTERNS[ p ].length - 1 - i ) );
+					}
+				}
+			}
+			SQUARE_PATTERNS[ square ] = new int[ in.size() ];
+			SQUARE_POWERS[ square ] = new int[ in.size() ];
+			for ( int i = 0; i < in.size(); i++ ) {
+				SQUARE_PATTERNS[ square ][ i ] = in.get( i );
+				SQUARE_POWERS[ square ][ i ] = powers.get( i );
+			}
+		}
+	}
+
+	/* The evaluator with the default weights, created when it's needed first. */
+	private static PatternEvaluator defaultEvaluator = null;
+
+	/* The weights, [phase][kind][configuration]. */
+	private final float[][][] weights;
+
+
+	/**
+	 * Creates an evaluator with the given weights.
+	 *
+	 * @param weights The weights, [phase][kind][configuration].
+	 */
+	private PatternEvaluator( float[][][] weights ) {
+		this.weights = weights;
+	} /* End of constructor PatternEvaluator(). */
+
+
+	/**
+	 * @return The evaluator with the weights derived from the square table
+	 * (see above).
+	 */
+	public static synchronized PatternEvaluator getDefault() {
+
+		if ( defaultEvaluator != null ) {
+			return defaultEvaluator;
+		}
+
+		/* How many patterns every square is part of. */
+		int[] cover = new int[ 64 ];
+		for ( int p = 0; p < PATTERNS.length; p++ ) {
+			for ( int i = 0; i < PATTERNS[ p ].length; i++ ) {
+				cover[ PATTERNS[ p ][ i ] ]++;
+			}
+		}
+
+		float[][] kindWeights = new float[ KINDS.length ][];
+		for ( int kind = 0; kind < KINDS.length; kind++ ) {
+			int length = KINDS[ kind ].length;
+			kindWeights[ kind ] = new float[ CONFIGURATIONS[ kind ] ];
+			for ( int configuration = 0; configuration < CONFIGURATIONS[ kind ]; configuration++ ) {
+				double weight = 0;
+				int rest = configuration;
+				for ( int i = length - 1; i >= 0; i-- ) {
+					int row = KINDS[ kind ][ i ][ 0 ];
+					int col = KINDS[ kind ][ i ][ 1 ];
+					double share = (double)LookOneAheadPlayer.VALUE_FIELD[ row ][ col ] / cover[ row * 8 + col ];
+					if ( rest % 3 == 1 ) {
+						weight += share;
+					} else if ( rest % 3 == 2 ) {
+						weight -= share;
+					}
+					rest /= 3;
+				}
+				kindWeights[ kind ][ configuration ] = (float)weight;
+			}
+		}
+
+		/* All phases share the same weights. */
+		float[][][] weights = new float[ PHASES ][][];
+		for ( int phase = 0; phase < PHASES; phase++ ) {
+			weights[ phase ] = kindWeights;
+		}
+		defaultEvaluator = new PatternEvaluator( weights );
+		return defaultEvaluator;
+
+	} /* End of getDefault(). */
+
+
+	/**
+	 * Loads trained weights from a text file. It contains the weights as
+	 * numbers separated by white space, phase by phase (the first one with
+	 * 4 stones on the board), within a phase kind by kind in the order of
+	 * the list above, within a kind configuration by configuration, with the
+	 * squares read in the orientation described above. Lines starting with
+	 * '#' are comments.
+	 *
+	 * @param file The file.
+	 * @return The evaluator with the weights of the file.
+	 * @throws IOException If the file can't be read or has the wrong number
+	 * of weights.
+	 */
+	public static PatternEvaluator load( File file ) throws IOException {
+
+		float[][][] weights = new float[ PHASES ][ KINDS.length ][];
+		int phase = 0;
+		int kind = 0;
+		int configuration = 0;
+		weights[ 0 ][ 0 ] = new float[ CONFIGURATIONS[ 0 ] ];
+
+		BufferedReader reader = new BufferedReader( new FileReader( file ) );
+		try {
+			String line;
+			while ( ( line = reader.readLine() ) != null ) {
+				line = line.trim();
+				if ( line.length() == 0 || line.startsWith( "#" ) ) {
+					continue;
+				}
+				String[] numbers = line.split( "\\s+" );
+				for ( int i = 0; i < numbers.length; i++ ) {
+					if ( phase == PHASES ) {
+						throw new IOException( file + ": More weights than " + PHASES + " phases need." );
+					}
+					try {
+						weights[ phase ][ kind ][ configuration ] = Float.parseFloat( numbers[ i ] );
+					} catch ( NumberFormatException e ) {
+						throw new IOException( file + ": '" + numbers[ i ] + "' is no number." );
+					}
+
+					/* On to the next weight. */
+					if ( ++configuration == CONFIGURATIONS[ kind ] ) {
+						configuration = 0;
+						if ( ++kind == KINDS.length ) {
+							kind = 0;
+							phase++;
+						}
+						if ( phase < PHASES ) {
+							weights[ phase ][ kind ] = new float[ CONFIGURATIONS[ kind ] ];
+						}
+					}
+				}
+			}
+		} finally {
+			reader.close();
+		}
+
+		if ( phase < PHASES ) {
+			throw new IOException( file + ": Weights missing in phase " + phase + "." );
+		}
+		return new PatternEvaluator( weights );
+
+	} /* End of load(). */
+
+
+	/**
+	 * @return The evaluator with the weights of the file in lynx.patterns
+	 * (see Config.getPatternFile()), or with the default weights if that is
+	 * not set or can't be loaded.
+	 */
+	public static PatternEvaluator fromConfig() {
+
+		String file = Config.getPatternFile();
+		if ( file != null ) {
+			try {
+				return load( new File( file ) );
+			} catch ( IOException e ) {
+				System.out.println( "(WW) Lynx: Can't load the patterns, using the default weights. " + e.getMessage() );
+			}
+		}
+		return getDefault();
+
+	} /* End of fromConfig(). */
+
+
+	/**
+	 * @see player.Evaluator#evaluate(reversi.BitGameBoard, int)
+	 */
+	public double evaluate( BitGameBoard board, int player ) {
+		return evaluate( board.getStones( player ), board.getStones( 3 - player ) );
+	} /* End of evaluate(). */
+
+
+	/**
+	 * Evaluates a situation.
+	 *
+	 * @param own The stones whose view the value is from.
+	 * @param enemy The stones of the other player.
+	 * @return The value, between -1 and 1 like the answer of the net.
+	 */
+	public double evaluate( long own, long enemy ) {
+
+		int[] configurations = SCRATCH.get();
+		Arrays.fill( configurations, 0 );
+		for ( long stones = own; stones != 0; stones &= stones - 1 ) {
+			add( configurations, Long.numberOfTrailingZeros( stones ), 1 );
+		}
+		for ( long stones = enemy; stones != 0; stones &= stones - 1 ) {
+			add( configurations, Long.numberOfTrailingZeros( stones ), 2 );
+		}
+		return evaluate( configurations, Long.bitCount( own | enemy ) );
+
+	} /* End of evaluate(). */
+
+
+	/**
+	 * Evaluates a situation given by the configurations of all patterns.
+	 *
+	 * @param configurations The configurations, see add().
+	 * @param stones The number of stones on the board.
+	 * @return The value, between -1 and 1 like the answer of the net.
+	 */
+	double evaluate( int[] configurations, int stones ) {
+
+		float[][] phaseWeights = weights[ Math.min( ( stones - 4 ) * PHASES / 61, PHASES - 1 ) ];
+		double sum = 0;
+		for ( int p = 0; p < configurations.length; p++ ) {
+			sum += phaseWeights[ PATTERN_KIND[ p ] ][ configurations[ p ] ];
+		}
+		return Math.tanh( sum / SCALE );
+
+	} /* End of evaluate(). */
+
+
+	/**
+	 * @return The number of patterns on the board, i.e. the length of an
+	 * array of configurations.
+	 */
+	static int getPatternCount() {
+		return PATTERNS.length;
+	} /* End of getPatternCount(). */
+
+
+	/**
+	 * Changes the digit of a square in the configurations of all patterns it
+	 * is part of. Starting from all zeros (an empty board), adding 1 for our
+	 * stones and 2 for the enemy's gives the configurations of a situation.
+	 *
+	 * @param configurations The configurations, [pattern].
+	 * @param square The square.
+	 * @param digits What to add to its digit, e.g. -1 if one of our stones
+	 * becomes the enemy's.
+	 */
+	static void add( int[] configurations, int square, int digits ) {
+
+		int[] patterns = SQUARE_PATTERNS[ square ];
+		int[] powers = SQUARE_POWERS[ square ];
+		for ( int i = 0; i < patterns.length; i++ ) {
+			configurations[ patterns[ i ] ] += digits * powers[ i ];
+		}
+
+	} /* End of add(). */
+
+
+	/**
+	 * Maps a square by one of the 8 symmetries of the board.
+	 *
+	 * @param row The row, from 0.
+	 * @param col The column, from 0.
+	 * @param symmetry Bit 0 mirrors the rows, bit 1 the columns, bit 2 swaps
+	 * rows and columns.
+	 * @return The number of the square it is mapped to (see BitGameBoard).
+	 */
+	private static int transform( int row, int col, int symmetry ) {
+
+		if ( ( symmetry & 1 ) != 0 ) {
+			row = 7 - row;
+		}
+		if ( ( symmetry & 2 ) != 0 ) {
+			col = 7 - col;
+		}
+		if ( ( symmetry & 4 ) != 0 ) {
+			int swap = row;
+			row = col;
+			col = swap;
+		}
+		return row * 8 + col;
+
+	} /* End of transform(). */
+
+
+	/**
+	 * @return 3 to the given power.
+	 */
+	private static int power3( int exponent ) {
+
+		int result = 1;
+		for ( int i = 0; i < exponent; i++ ) {
+			result *= 3;
+		}
+		return result;
+
+	} /* End of power3(). */
+
+} /* End of class PatternEvaluator. */
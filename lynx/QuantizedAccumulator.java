@@ -0,0 +1,127 @@
+package lynx;
+
+import reversi.BitGameBoard;
+import reversi.GameBoard;
+import player.MoveOrdering;
+
+
+/**
+ * The NetAccumulator of the QuantizedNet: keeps the integer sums of the four
+ * hidden units up to date while a search plays its moves, so that a leaf
+ * costs just the table lookups of QuantizedNet.output(). As with
+ * NetAccumulator the sums are kept for RED and negated for GREEN; being
+ * integers, they are exactly the ones QuantizedNet.getScore() computes.
+ *
+ * An instance must not be used by more than one thread at the same time.
+ */
+class QuantizedAccumulator {
+
+	/* The sums of the hidden units, [ply][unit], and the current ply. */
+	private final int[][] sums = new int[ MoveOrdering.MAX_PLY + 1 ][ 4 ];
+	private int top = 0;
+
+
+	/**
+	 * Computes the sums of the given situation from scratch. The moves played
+	 * before are forgotten.
+	 *
+	 * @param board The situation.
+	 */
+	void reset( BitGameBoard board ) {
+
+		top = 0;
+		int[] sum = sums[ 0 ];
+		for ( int unit = 0; unit < 4; unit++ ) {
+			sum[ unit ] = 0;
+		}
+
+		for ( long red = board.getStones( GameBoard.RED ); red != 0; red &= red - 1 ) {
+			add( sum, Long.numberOfTrailingZeros( red ), 1 );
+		}
+		for ( long green = board.getStones( GameBoard.GREEN ); green != 0; green &= green - 1 ) {
+			add( sum, Long.numberOfTrailingZeros( green ), -1 );
+		}
+
+	} /* End of reset(). */
+
+
+	/**
+	 * Plays a move, see BitGameBoard.play().
+	 *
+	 * @param player The player who moves.
+	 * @param square The square of the new stone.
+	 * @param flips The stones it flips.
+	 */
+	void play( int player, int square, long flips ) {
+
+		int[] from = sums[ top ];
+		int[] sum = sums[ ++top ];
+		for ( int unit = 0; unit < 4; unit++ ) {
+			sum[ unit ] = from[ unit ];
+		}
+
+		/* A flipped stone goes from minus its weight to plus its weight. */
+		int sign = ( player == GameBoard.RED ) ? 1 : -1;
+		add( sum, square, sign );
+		for ( ; flips != 0; flips &= flips - 1 ) {
+			add( sum, Long.numberOfTrailingZeros( flips ), 2 * sign );
+		}
+
+	} /* End of play(). */
+
+
+	/**
+	 * Plays a pass, see BitGameBoard.pass().
+	 */
+	void pass() {
+
+		int[] from = sums[ top ];
+		int[] sum = sums[ ++top ];
+		for ( int unit = 0; unit < 4; unit++ ) {
+			sum[ unit ] = from[ unit ];
+		}
+
+	} /* End of pass(). */
+
+
+	/**
+	 * Takes back the last move or pass.
+	 */
+	void undo() {
+		top--;
+	} /* End of undo(). */
+
+
+	/**
+	 * Evaluates the current situation like QuantizedNet.getScore().
+	 *
+	 * @param ownColor The player whose view the score is from.
+	 * @return The score, between -QuantizedNet.ONE and QuantizedNet.ONE.
+	 */
+	int evaluate( int ownColor ) {
+
+		int[] sum = sums[ top ];
+		if ( ownColor == GameBoard.RED ) {
+			return QuantizedNet.output( sum[ 0 ], sum[ 1 ], sum[ 2 ], sum[ 3 ] );
+		}
+		return QuantizedNet.output( -sum[ 0 ], -sum[ 1 ], -sum[ 2 ], -sum[ 3 ] );
+
+	} /* End of evaluate(). */
+
+
+	/**
+	 * Adds the weights of a square to the sums.
+	 *
+	 * @param sum The sums.
+	 * @param square The square.
+	 * @param factor How many times to add them.
+	 */
+	private static void add( int[] sum, int square, int factor ) {
+
+		for ( int unit = 0; unit < 4; unit++ ) {
+			sum[ unit ] += factor * QuantizedNet.WEIGHTS[ unit ][ square ];
+		}
+
+	} /* End of add(). */
+
+} /* End of class QuantizedAccumulator. */
@@ -0,0 +1,157 @@
+package lynx;
+
+
+/**
+ * Our neural net (see Net.java) in fixed point, for the search with integer
+ * scores (see Config.getNet()).
+ *
+ * Every number of the net is an integer with a fixed scale:
+ * - The weights of the hidden units are 16 bit, in units of 1 / 16384
+ *   (HIDDEN_SCALE). Their sums are ints.
+ * - The tanh is looked up in a table of 16-bit values in units of 1 / 4096
+ *   (ONE), at 1024 points per unit of the argument, from -8 to 8; beyond
+ *   that it is -1 or 1. The argument is rounded to the nearest point.
+ * - The output unit weighs the answers of the hidden units with a 16-bit
+ *   weight in units of 1 / 4096 as well, so its sum is in units of
+ *   1 / 4096^2.
+ *
+ * The answer of the net is the tanh of the output unit in units of 1 / ONE,
+ * between -ONE and ONE. Lynx adds +-3 * ONE for games that are over, so every
+ * score of the search is within +-4 * ONE = +-16384 and fits into 16 bits
+ * (see TranspositionTable.storeQuantized()).
+ *
+ * Rounding the weights and the arguments of the tanh makes the answer differ
+ * from the one of Net by a few units of 1 / ONE; benchmark.QuantizedNetBenchmark
+ * measures how much and how often it makes Lynx choose another move.
+ */
+public final class QuantizedNet {
+
+	/* The score for an answer of 1 of the net, and the scales of the weights. */
+	public static final int ONE = 4096;
+	private static final int HIDDEN_SCALE = 16384;
+	private static final int OUTPUT_SCALE = 4096;
+
+	/* The points of the tanh table per unit, and its range. */
+	private static final int STEPS = 1024;
+	private static final int RANGE = 8;
+
+	/*
+	 * How far the sums are shifted to get to the points of the table: the
+	 * ones of the hidden units from 1 / 16384 to 1 / 1024, the one of the
+	 * output unit from 1 / 4096^2 to 1 / 1024.
+	 */
+	private static final int HIDDEN_SHIFT = 4;
+	private static final int OUTPUT_SHIFT = 14;
+
+	/* The weights of the hidden units, [unit][square], and the biases. */
+	static final short[][] WEIGHTS = new short[ 4 ][];
+	static final int HIDDEN_BIAS = quantize( Net.hiddenUnitBias, HIDDEN_SCALE );
+	private static final int OUTPUT_WEIGHT = quantize( Net.outputWeight, OUTPUT_SCALE );
+	private static final int OUTPUT_BIAS = quantize( Net.outputBias, OUTPUT_SCALE * ONE );
+
+	/* The tanh in units of 1 / ONE, TANH[ RANGE * STEPS + i ] = tanh( i / STEPS ). */
+	private static final short[] TANH = new short[ 2 * RANGE * STEPS + 1 ];
+
+	static {
+		double[][] weights = Net.getHiddenUnitWeights();
+		for ( int unit = 0; unit < 4; unit++ ) {
+			WEIGHTS[ unit ] = new short[ 64 ];
+			for ( int square = 0; square < 64; square++ ) {
+				WEIGHTS[ unit ][ square ] = (short)quantize( weights[ unit ][ square ], HIDDEN_SCALE );
+			}
+		}
+		for ( int i = -RANGE * STEPS; i <= RANGE * STEPS; i++ ) {
+			TANH[ RANGE * STEPS + i ] = (short)quantize( Math.tanh( (double)i / STEPS ), ONE );
+		}
+	}
+
+
+	/* Nobody needs an instance. */
+	private QuantizedNet() {
+	} /* End of constructor QuantizedNet(). */
+
+
+	/**
+	 * Calculates the answer of the net to a situation given as bitboards, like
+	 * Net.getOutput( long, long ).
+	 *
+	 * @param own The stones whose view the answer is from.
+	 * @param enemy The stones of the other player.
+	 * @return The answer in units of 1 / ONE, between -ONE and ONE.
+	 */
+	public static int getScore( long own, long enemy ) {
+
+		int sumOne = 0;
+		int sumTwo = 0;
+		int sumThree = 0;
+		int sumFour = 0;
+		for ( long stones = own; stones != 0; stones &= stones - 1 ) {
+			int square = Long.numberOfTrailingZeros( stones );
+			sumOne += WEIGHTS[ 0 ][ square ];
+			sumTwo += WEIGHTS[ 1 ][ square ];
+			sumThree += WEIGHTS[ 2 ][ square ];
+			sumFour += WEIGHTS[ 3 ][ square ];
+		}
+		for ( long stones = enemy; stones != 0; stones &= stones - 1 ) {
+			int square = Long.numberOfTrailingZeros( stones );
+			sumOne -= WEIGHTS[ 0 ][ square ];
+			sumTwo -= WEIGHTS[ 1 ][ square ];
+			sumThree -= WEIGHTS[ 2 ][ square ];
+			sumFour -= WEIGHTS[ 3 ][ square ];
+		}
+		return output( sumOne, sumTwo, sumThree, sumFour );
+
+	} /* End of getScore(). */
+
+
+	/**
+	 * The rest of the net once the sums of the hidden units are known.
+	 *
+	 * @return The answer in units of 1 / ONE.
+	 */
+	static int output( int sumOne, int sumTwo, int sumThree, int sumFour ) {
+
+		int linearComb = OUTPUT_BIAS
+				+ OUTPUT_WEIGHT * ( hiddenUnit( sumOne ) + hiddenUnit( sumTwo ) + hiddenUnit( sumThree ) + hiddenUnit( sumFour ) );
+		return tanh( linearComb, OUTPUT_SHIFT );
+
+	} /* End of output(). */
+
+
+	/**
+	 * @return The answer of a hidden unit to its sum, in units of 1 / ONE.
+	 */
+	private static int hiddenUnit( int sum ) {
+		return tanh( sum + HIDDEN_BIAS, HIDDEN_SHIFT );
+	} /* End of hiddenUnit(). */
+
+
+	/**
+	 * Looks up the tanh of a fixed-point number.
+	 *
+	 * @param x The argument, in units of 1 / ( STEPS << shift ).
+	 * @param shift See above.
+	 * @return tanh(x) in units of 1 / ONE.
+	 */
+	private static int tanh( int x, int shift ) {
+
+		/* Rounded to the nearest point of the table. */
+		int i = ( x + ( 1 << ( shift - 1 ) ) ) >> shift;
+		if ( i >= RANGE * STEPS ) {
+			return ONE;
+		} else if ( i <= -RANGE * STEPS ) {
+			return -ONE;
+		}
+		return TANH[ RANGE * STEPS + i ];
+
+	} /* End of tanh(). */
+
+
+	/**
+	 * @return x in units of 1 / scale, rounded.
+	 */
+	private static int quantize( double x, int scale ) {
+		return (int)Math.round( x * scale );
+	} /* End of quantize(). */
+
+} /* End of class QuantizedNet. */
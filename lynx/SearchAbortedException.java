@@ -0,0 +1,30 @@
+package lynx;
+
+
+/**
+ * Thrown by the nodes of a search when it has to stop: because the time is
+ * up (see Lynx.checkTime()) or because a cutoff at a split point above made
+ * it useless (see Searcher.java). It goes right up to where the search was
+ * started, without any node returning a value that would have to be thrown
+ * away. Everything a node stored before is still valid.
+ *
+ * It is thrown at the end of nearly every move, so there is only one
+ * instance, and it has no stack trace, which would cost more than unwinding
+ * the search.
+ */
+final class SearchAbortedException extends RuntimeException {
+
+	private static final long serialVersionUID = 1L;
+
+	/* The only instance. */
+	static final SearchAbortedException INSTANCE = new SearchAbortedException();
+
+
+	/**
+	 * Creates the instance, without suppressed exceptions and stack trace.
+	 */
+	private SearchAbortedException() {
+		super( "search aborted", null, false, false );
+	} /* End of constructor SearchAbortedException(). */
+
+} /* End of class SearchAbortedException. */
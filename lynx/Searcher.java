@@ -0,0 +1,788 @@
+package lynx;
+
+import reversi.BitGameBoard;
+import player.MoveOrdering;
+import lookOneAheadPlayer.LookOneAheadPlayer;
+
+import java.util.concurrent.RecursiveAction;
+
+
+/**
+ * The negamax Principal Variation Search of Lynx (see Config.getSearch()).
+ *
+ * A Searcher has everything one search needs for itself: the board it plays
+ * its moves on, its move ordering and its principal variation. What all
+ * searches share (the transposition table, the principal variation of the
+ * last level, the net and the clock) belongs to Lynx.
+ *
+ * With the parallel search (see Config.getParallel()) the moves of a node are
+ * searched by the Young Brothers Wait Concept: the first move (the eldest
+ * brother) is searched alone, because it is the most promising one and often
+ * causes a cutoff by itself. Only if it doesn't, its younger brothers are
+ * searched in parallel, every one by a task of its own that takes a Searcher
+ * of its own from Lynx. If one of them causes a cutoff, the others are
+ * cancelled. The tasks run in the ForkJoinPool of Lynx, which lets a thread
+ * waiting for its tasks work on other tasks meanwhile.
+ *
+ * With Lazy SMP there are no split points. Helper Searchers search the same
+ * root as the main one with iterative deepening of their own (see help()),
+ * some of them a level deeper. They only help through the transposition
+ * table, which then returns values and moves the main Searcher didn't have
+ * to find itself.
+ *
+ * With the quantized net (see Config.getNet()) searchQuantized() does the
+ * same search with integer scores, by one thread alone.
+ *
+ * A Searcher must not be used by more than one thread at the same time.
+ */
+class Searcher {
+
+	/*
+	 * Nodes with less remaining depth are always searched by one thread alone.
+	 * Their trees are too small to be worth a task.
+	 */
+	private static final int MIN_SPLIT_DEPTH = 3;
+
+	/* A score above every score of pvsScore(), see QuantizedNet.java. */
+	private static final int MAX_SCORE = 5 * QuantizedNet.ONE;
+
+	/* The player we search for and the things all Searchers share. */
+	private final Lynx lynx;
+	private final TranspositionTable table;
+	private final int ownColor;
+	private final int enemyColor;
+
+	/*
+	 * Our own board with the net or the patterns evaluating it move by move
+	 * (see Accumulator.java, or QuantizedAccumulator.java for the search with
+	 * integer scores), our own move ordering and our own principal variation.
+	 */
+	private final BitGameBoard board = new BitGameBoard();
+	private final Accumulator accumulator;
+	private final QuantizedAccumulator quantizedAccumulator = new QuantizedAccumulator();
+	private final MoveOrdering ordering = new MoveOrdering( LookOneAheadPlayer.VALUE_FIELD );
+	private final int[][] pvTable = new int[ MoveOrdering.MAX_PLY + 1 ][ MoveOrdering.MAX_PLY + 1 ];
+	private final int[] pvLength = new int[ MoveOrdering.MAX_PLY + 1 ];
+
+	/* The depth of the root node of the current iteration. */
+	private int rootDepth;
+
+	/*
+	 * The best move the root node found so far. It is only taken from moves
+	 * whose search wasn't aborted, so it can be used even if the level isn't
+	 * completed.
+	 */
+	private int bestSquare = TranspositionTable.NO_MOVE;
+
+	/* The nodes we searched. They tell us when to look at the clock. */
+	private long nodes = 0;
+
+	/*
+	 * The split point the task we are working for belongs to, or null if we
+	 * search from the root. Its parents are the split points above it.
+	 */
+	private SplitPoint splitPoint = null;
+
+
+	/**
+	 * Creates a new Searcher.
+	 *
+	 * @param lynx The player we search for.
+	 * @param table The transposition table of the player.
+	 * @param ownColor The color of the player.
+	 * @param enemyColor The color of the other player.
+	 */
+	Searcher( Lynx lynx, TranspositionTable table, int ownColor, int enemyColor ) {
+		this.lynx = lynx;
+		this.table = table;
+		this.ownColor = ownColor;
+		this.enemyColor = enemyColor;
+		this.accumulator = lynx.createAccumulator();
+	} /* End of constructor Searcher(). */
+
+
+	/**
+	 * Prepares the move ordering for a new move of the player, see
+	 * MoveOrdering.newSearch().
+	 *
+	 * @param pliesPlayed The number of plies played since the last move.
+	 */
+	void newSearch( int pliesPlayed ) {
+		ordering.newSearch( pliesPlayed );
+	} /* End of newSearch(). */
+
+
+	/**
+	 * Searches the given situation to the given depth.
+	 *
+	 * @param situation The situation at the root. It is left unchanged.
+	 * @param depth The depth to search to.
+	 * @return The value of the situation for the player to move. Garbage if
+	 * the search was aborted.
+	 */
+	double search( BitGameBoard situation, int depth ) {
+
+		board.updateBoard( situation );
+		accumulator.reset( board );
+		rootDepth = depth;
+		splitPoint = null;
+		bestSquare = TranspositionTable.NO_MOVE;
+
+		try {
+			return pvsValue( Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY, depth );
+		} catch ( SearchAbortedException e ) {
+			/* Our board is left somewhere in the tree, but the next search resets it. */
+			return 0;
+		}
+	} /* End of search(). */
+
+
+	/**
+	 * Searches the given situation to the given depth with the quantized net,
+	 * see pvsScore().
+	 *
+	 * @param situation The situation at the root. It is left unchanged.
+	 * @param depth The depth to search to.
+	 * @return The score of the situation for the player to move, in units of
+	 * 1 / QuantizedNet.ONE. Garbage if the search was aborted.
+	 */
+	int searchQuantized( BitGameBoard situation, int depth ) {
+
+		board.updateBoard( situation );
+		quantizedAccumulator.reset( board );
+		rootDepth = depth;
+		splitPoint = null;
+		bestSquare = TranspositionTable.NO_MOVE;
+
+		try {
+			return pvsScore( -MAX_SCORE, MAX_SCORE, depth );
+		} catch ( SearchAbortedException e ) {
+			/* Our board is left somewhere in the tree, but the next search resets it. */
+			return 0;
+		}
+	} /* End of searchQuantized(). */
+
+
+	/**
+	 * Helps the main Searcher with Lazy SMP: Searches the given situation
+	 * deeper and deeper, starting at the given depth, until the search is
+	 * aborted or the given stop point is cancelled. The results are only
+	 * written into the transposition table.
+	 *
+	 * @param situation The situation at the root. It is left unchanged.
+	 * @param depth The depth of the first search.
+	 * @param maxDepth The deepest search that makes sense.
+	 * @param stop Cancelled when the help isn't needed anymore.
+	 */
+	void help( BitGameBoard situation, int depth, int maxDepth, SplitPoint stop ) {
+
+		board.updateBoard( situation );
+		accumulator.reset( board );
+		splitPoint = stop;
+
+		try {
+			for ( rootDepth = depth; rootDepth <= maxDepth; rootDepth++ ) {
+				pvsValue( Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY, rootDepth );
+			}
+		} catch ( SearchAbortedException e ) {
+			/* We are done. */
+		} finally {
+			splitPoint = null;
+		}
+	} /* End of help(). */
+
+
+	/**
+	 * @return The best move found by the last search(). If it was aborted,
+	 * the best of the moves that were searched completely, or NO_MOVE if
+	 * there is none.
+	 */
+	int getBestSquare() {
+		return bestSquare;
+	} /* End of getBestSquare(). */
+
+
+	/**
+	 * @return The number of nodes we searched so far.
+	 */
+	long getNodes() {
+		return nodes;
+	} /* End of getNodes(). */
+
+
+	/**
+	 * @return The principal variation found by the last search(). Its first
+	 * getPrincipalVariationLength() entries are the moves.
+	 */
+	int[] getPrincipalVariation() {
+		return pvTable[ 0 ];
+	} /* End of getPrincipalVariation(). */
+
+
+	/**
+	 * @return The length of the principal variation found by the last search().
+	 */
+	int getPrincipalVariationLength() {
+		return pvLength[ 0 ];
+	} /* End of getPrincipalVariationLength(). */
+
+
+	/**
+	 * This is a node of the negamax Principal Variation Search. The value is
+	 * always from the view of the player to move, so the value of a move is
+	 * the negated value of the situation after it.
+	 *
+	 * The first move (the most promising one, see MoveOrdering) is searched
+	 * with the full window. For every other move we only want to know whether
+	 * it is better than alpha, which a search with a null window (alpha, alpha
+	 * plus the smallest step) tells much faster. Only if it is, we search it
+	 * again with the full window to get its value.
+	 *
+	 * The situation is the one on our board.
+	 *
+	 * @param alpha The value the player to move has already reached.
+	 * @param beta The value the other player has already reached (negated).
+	 * @param depth The remaining depth.
+	 * @return The value of this node for the player to move.
+	 */
+	private double pvsValue( double alpha, double beta, int depth ) {
+
+		/* The principal variation from here is empty until we find a move. */
+		int ply = rootDepth - depth;
+		pvLength[ ply ] = ply;
+
+		/* Every now and then we have to look at the clock. */
+		if ( ( ++nodes & ( TimeManager.CHECK_INTERVAL - 1 ) ) == 0 ) {
+			lynx.checkTime();
+		}
+
+		/*
+		 * If the search is aborted or another move of a split point above us
+		 * already caused a cutoff, we have to stop immediately.
+		 */
+		if ( lynx.isAborted() || isCancelled() ) {
+			throw SearchAbortedException.INSTANCE;
+		}
+
+		/* Who is to move? Our values are for us, so the enemy has to negate them. */
+		int color = board.getSideToMove();
+		double sign = ( color == ownColor ) ? 1 : -1;
+
+		/* Game over? See Lynx.maxValue() for the values. */
+		if ( Lynx.gameOver( board ) ) {
+			int diff = board.countStones( ownColor ) - board.countStones( enemyColor );
+			if ( diff > 0 ) {
+				return sign * ( 3 + accumulator.evaluate( ownColor ) );
+			} else if ( diff < 0 ) {
+				return sign * ( -3 + accumulator.evaluate( ownColor ) );
+			} else {
+				return sign * accumulator.evaluate( ownColor );
+			}
+		}
+
+		/* Did we reach the maximum depth? */
+		if ( depth <= 0 ) {
+			return sign * accumulator.evaluate( ownColor );
+		}
+
+		/* All possible moves of the player to move. */
+		long moves = board.legalMoves( color );
+
+		/* If there is none, we pass, but we go still further down in our tree! */
+		if ( moves == 0 ) {
+			board.pass( color );
+			accumulator.pass();
+			double result = -pvsValue( -beta, -alpha, depth - 1 );
+			board.undo();
+			accumulator.undo();
+			updatePrincipalVariation( ply, BitGameBoard.PASS, pvTable[ ply + 1 ], pvLength[ ply + 1 ] );
+			return result;
+		}
+
+		/*
+		 * Looking up the situation in the transposition table, as in
+		 * Lynx.maxValue(). The root node always searches.
+		 */
+		long key = board.getHash();
+		long entry = table.probe( key );
+		int hashMove = TranspositionTable.NO_MOVE;
+		if ( entry != 0 ) {
+			if ( depth != rootDepth && TranspositionTable.getDepth( entry ) >= depth ) {
+				double score = TranspositionTable.getScore( entry );
+				int bound = TranspositionTable.getBound( entry );
+				if ( bound == TranspositionTable.EXACT
+						|| ( bound == TranspositionTable.LOWER_BOUND && score >= beta )
+						|| ( bound == TranspositionTable.UPPER_BOUND && score <= alpha ) ) {
+					return score;
+				}
+			}
+			hashMove = TranspositionTable.getMove( entry );
+		}
+
+		/* On the principal variation of the last level, its move goes first. */
+		int pvMove = lynx.getPrincipalVariationMove( ply, key );
+		if ( pvMove != TranspositionTable.NO_MOVE ) {
+			hashMove = pvMove;
+		}
+
+		/*
+		 * We need some variables.
+		 */
+		int square;
+		int localBestSquare = TranspositionTable.NO_MOVE;
+		double alphaOrig = alpha;
+		double result;
+		double bestResult = Double.NEGATIVE_INFINITY;
+
+		int[] ordered = ordering.order( moves, color, ply, hashMove );
+		int count = Long.bitCount( moves );
+		for ( int i = 0; i < count; i++ ) {
+
+			/*
+			 * The eldest brother is searched. If there is enough depth left,
+			 * its younger brothers are searched in parallel.
+			 */
+			if ( i == 1 && depth >= MIN_SPLIT_DEPTH && lynx.getPool() != null ) {
+				SiblingTask[] tasks = split( ordered, 1, count, color, alpha, beta, depth );
+
+				/* Taking the results in the order of the moves. */
+				for ( int j = 0; j < tasks.length; j++ ) {
+					SiblingTask task = tasks[ j ];
+					task.join();
+
+					/*
+					 * Some move above caused a cutoff or the search is aborted. Then
+					 * we stop as well, but only when the other tasks are done with
+					 * our board.
+					 */
+					if ( !task.complete ) {
+						for ( int k = j + 1; k < tasks.length; k++ ) {
+							tasks[ k ].quietlyJoin();
+						}
+						throw SearchAbortedException.INSTANCE;
+					}
+
+					result = task.result;
+					if ( result > bestResult ) {
+						localBestSquare = task.square;
+						bestResult = result;
+					}
+					if ( result > alpha ) {
+						alpha = result;
+						updatePrincipalVariation( ply, task.square, task.pv, task.pvEnd );
+						if ( depth == rootDepth ) {
+							bestSquare = task.square;
+						}
+					}
+
+					/*
+					 * A cutoff makes the moves we haven't looked at yet useless.
+					 * The tasks which haven't started yet won't start anymore
+					 * and the running ones stop as soon as they notice.
+					 * They are still joined, because they use our board.
+					 */
+					if ( alpha >= beta ) {
+						ordering.goodMove( color, ply, task.square, depth );
+						task.splitPoint.cancel();
+						for ( int k = j + 1; k < tasks.length; k++ ) {
+							tasks[ k ].cancel( false );
+						}
+						for ( int k = j + 1; k < tasks.length; k++ ) {
+							tasks[ k ].quietlyJoin();
+						}
+						break;
+					}
+				}
+				break;
+			}
+
+			/* Preparing the square of this move. */
+			square = ordered[ i ];
+			long flips = board.flips( color, square );
+			board.play( color, square, flips );
+			accumulator.play( color, square, flips );
+
+			if ( i == 0 ) {
+				/* The first move gets the full window. */
+				result = -pvsValue( -beta, -alpha, depth - 1 );
+			} else {
+				/* The others first have to show that they are better than alpha... */
+				result = -pvsValue( -Math.nextUp( alpha ), -alpha, depth - 1 );
+
+				/* ...and if they are (but don't cause a cutoff), we want to know by how much. */
+				if ( result > alpha && result < beta ) {
+
+					/*
+					 * At the root the move is better than the best one so far, even
+					 * if there is no time left to find out by how much.
+					 */
+					if ( depth == rootDepth ) {
+						bestSquare = square;
+					}
+					result = -pvsValue( -beta, -alpha, depth - 1 );
+				}
+			}
+
+			/* Taking the move back! */
+			board.undo();
+			accumulator.undo();
+
+			/* Is this move better than another found before? */
+			if ( result > bestResult ) {
+				localBestSquare = square;
+				bestResult = result;
+			}
+			if ( result > alpha ) {
+				alpha = result;
+				updatePrincipalVariation( ply, square, pvTable[ ply + 1 ], pvLength[ ply + 1 ] );
+				if ( depth == rootDepth ) {
+					bestSquare = square;
+				}
+			}
+
+			/* Can we do a break? */
+			if ( alpha >= beta ) {
+				ordering.goodMove( color, ply, square, depth );
+				break;
+			}
+		} /* End of looping through the moves... */
+
+		/*
+		 * Remembering what we found. If the search had been aborted below us,
+		 * we wouldn't be here (see SearchAbortedException.java).
+		 */
+		if ( bestResult >= beta ) {
+			table.store( key, depth, TranspositionTable.LOWER_BOUND, bestResult, localBestSquare );
+		} else if ( bestResult > alphaOrig ) {
+			table.store( key, depth, TranspositionTable.EXACT, bestResult, localBestSquare );
+		} else {
+			table.store( key, depth, TranspositionTable.UPPER_BOUND, bestResult, TranspositionTable.NO_MOVE );
+		}
+
+		return bestResult;
+
+	} /* End of pvsValue(). */
+
+
+	/**
+	 * This is a node of the Principal Variation Search with integer scores.
+	 * It is pvsValue() with the QuantizedNet instead of the Net and without
+	 * the parallel search; the smallest step of the null window is 1. Won and
+	 * lost games get +-3 * QuantizedNet.ONE, so all scores fit into the 16
+	 * bits of TranspositionTable.storeQuantized().
+	 *
+	 * @param alpha The score the player to move has already reached.
+	 * @param beta The score the other player has already reached (negated).
+	 * @param depth The remaining depth.
+	 * @return The score of this node for the player to move.
+	 */
+	private int pvsScore( int alpha, int beta, int depth ) {
+
+		int ply = rootDepth - depth;
+		pvLength[ ply ] = ply;
+
+		if ( ( ++nodes & ( TimeManager.CHECK_INTERVAL - 1 ) ) == 0 ) {
+			lynx.checkTime();
+		}
+		if ( lynx.isAborted() ) {
+			throw SearchAbortedException.INSTANCE;
+		}
+
+		int color = board.getSideToMove();
+		int sign = ( color == ownColor ) ? 1 : -1;
+
+		/* Game over? */
+		if ( Lynx.gameOver( board ) ) {
+			int diff = board.countStones( ownColor ) - board.countStones( enemyColor );
+			int score = quantizedAccumulator.evaluate( ownColor );
+			if ( diff > 0 ) {
+				score += 3 * QuantizedNet.ONE;
+			} else if ( diff < 0 ) {
+				score -= 3 * QuantizedNet.ONE;
+			}
+			return sign * score;
+		}
+
+		/* Did we reach the maximum depth? */
+		if ( depth <= 0 ) {
+			return sign * quantizedAccumulator.evaluate( ownColor );
+		}
+
+		long moves = board.legalMoves( color );
+
+		/* If there is none, we pass, but we go still further down in our tree! */
+		if ( moves == 0 ) {
+			board.pass( color );
+			quantizedAccumulator.pass();
+			int result = -pvsScore( -beta, -alpha, depth - 1 );
+			board.undo();
+			quantizedAccumulator.undo();
+			updatePrincipalVariation( ply, BitGameBoard.PASS, pvTable[ ply + 1 ], pvLength[ ply + 1 ] );
+			return result;
+		}
+
+		/* The transposition table, as in pvsValue(). */
+		long key = board.getHash();
+		long entry = table.probe( key );
+		int hashMove = TranspositionTable.NO_MOVE;
+		if ( entry != 0 ) {
+			if ( depth != rootDepth && TranspositionTable.getDepth( entry ) >= depth ) {
+				int score = TranspositionTable.getQuantizedScore( entry );
+				int bound = TranspositionTable.getBound( entry );
+				if ( bound == TranspositionTable.EXACT
+						|| ( bound == TranspositionTable.LOWER_BOUND && score >= beta )
+						|| ( bound == TranspositionTable.UPPER_BOUND && score <= alpha ) ) {
+					return score;
+				}
+			}
+			hashMove = TranspositionTable.getMove( entry );
+		}
+		int pvMove = lynx.getPrincipalVariationMove( ply, key );
+		if ( pvMove != TranspositionTable.NO_MOVE ) {
+			hashMove = pvMove;
+		}
+
+		int localBestSquare = TranspositionTable.NO_MOVE;
+		int alphaOrig = alpha;
+		int result;
+		int bestResult = -MAX_SCORE;
+
+		int[] ordered = ordering.order( moves, color, ply, hashMove );
+		int count = Long.bitCount( moves );
+		for ( int i = 0; i < count; i++ ) {
+
+			int square = ordered[ i ];
+			long flips = board.flips( color, square );
+			board.play( color, square, flips );
+			quantizedAccumulator.play( color, square, flips );
+
+			if ( i == 0 ) {
+				result = -pvsScore( -beta, -alpha, depth - 1 );
+			} else {
+				result = -pvsScore( -alpha - 1, -alpha, depth - 1 );
+				if ( result > alpha && result < beta ) {
+					if ( depth == rootDepth ) {
+						bestSquare = square;
+					}
+					result = -pvsScore( -beta, -alpha, depth - 1 );
+				}
+			}
+
+			board.undo();
+			quantizedAccumulator.undo();
+
+			if ( result > bestResult ) {
+				localBestSquare = square;
+				bestResult = result;
+			}
+			if ( result > alpha ) {
+				alpha = result;
+				updatePrincipalVariation( ply, square, pvTable[ ply + 1 ], pvLength[ ply + 1 ] );
+				if ( depth == rootDepth ) {
+					bestSquare = square;
+				}
+			}
+			if ( alpha >= beta ) {
+				ordering.goodMove( color, ply, square, depth );
+				break;
+			}
+		}
+
+		if ( bestResult >= beta ) {
+			table.storeQuantized( key, depth, TranspositionTable.LOWER_BOUND, bestResult, localBestSquare );
+		} else if ( bestResult > alphaOrig ) {
+			table.storeQuantized( key, depth, TranspositionTable.EXACT, bestResult, localBestSquare );
+		} else {
+			table.storeQuantized( key, depth, TranspositionTable.UPPER_BOUND, bestResult, TranspositionTable.NO_MOVE );
+		}
+
+		return bestResult;
+
+	} /* End of pvsScore(). */
+
+
+	/**
+	 * Starts the tasks for the younger brothers of a node. They all search
+	 * with the alpha known now; a task doesn't learn about a better alpha found
+	 * by its brothers, which makes it search a bit more than needed.
+	 *
+	 * @param ordered The ordered moves of the node.
+	 * @param from The first move to search in parallel.
+	 * @param count The number of moves.
+	 * @param color The player to move.
+	 * @param alpha The alpha of the node.
+	 * @param beta The beta of the node.
+	 * @param depth The remaining depth of the node.
+	 * @return The tasks, one per move, in the order of the moves.
+	 */
+	private SiblingTask[] split( int[] ordered, int from, int count, int color, double alpha, double beta, int depth ) {
+
+		SplitPoint point = new SplitPoint( splitPoint );
+		SiblingTask[] tasks = new SiblingTask[ count - from ];
+
+		/* The first task is run last, so that it is the first to be done by us. */
+		for ( int i = 0; i < tasks.length; i++ ) {
+			tasks[ i ] = new SiblingTask( lynx, point, board, rootDepth, ordered[ from + i ], color, alpha, beta, depth );
+		}
+		for ( int i = tasks.length - 1; i >= 0; i-- ) {
+			tasks[ i ].fork();
+		}
+
+		return tasks;
+	} /* End of split(). */
+
+
+	/**
+	 * Searches the move of a task, see SiblingTask.compute().
+	 *
+	 * @param task The task.
+	 * @return The value of the move for the player to move at the split point.
+	 */
+	private double searchSibling( SiblingTask task ) {
+
+		board.updateBoard( task.parentBoard );
+		accumulator.reset( board );
+		rootDepth = task.rootDepth;
+		splitPoint = task.splitPoint;
+
+		int ply = rootDepth - task.depth;
+		long flips = board.flips( task.color, task.square );
+		board.play( task.color, task.square, flips );
+		accumulator.play( task.color, task.square, flips );
+
+		try {
+			/* As every younger brother: null window first. */
+			double result = -pvsValue( -Math.nextUp( task.alpha ), -task.alpha, task.depth - 1 );
+			if ( result > task.alpha && result < task.beta ) {
+				result = -pvsValue( -task.beta, -task.alpha, task.depth - 1 );
+			}
+
+			/* The principal variation below the move goes back to the split point. */
+			task.pv = pvTable[ ply + 1 ].clone();
+			task.pvEnd = pvLength[ ply + 1 ];
+			task.complete = true;
+			return result;
+
+		} catch ( SearchAbortedException e ) {
+			/* The split point finds out by complete being false. */
+			return 0;
+		} finally {
+			splitPoint = null;
+		}
+	} /* End of searchSibling(). */
+
+
+	/**
+	 * Makes the principal variation of the node at the given ply the given
+	 * move followed by the given principal variation of the node below.
+	 *
+	 * @param ply The ply of the node.
+	 * @param square The square of the move or BitGameBoard.PASS.
+	 * @param below The principal variation of the node below, indexed by ply.
+	 * @param belowEnd The ply where it ends.
+	 */
+	private void updatePrincipalVariation( int ply, int square, int[] below, int belowEnd ) {
+
+		pvTable[ ply ][ ply ] = square;
+		System.arraycopy( below, ply + 1, pvTable[ ply ], ply + 1, belowEnd - ply - 1 );
+		pvLength[ ply ] = belowEnd;
+
+	} /* End of updatePrincipalVariation(). */
+
+
+	/**
+	 * @return true if a split point we are searching for was cancelled.
+	 */
+	private boolean isCancelled() {
+		return splitPoint != null && splitPoint.isCancelled();
+	} /* End of isCancelled(). */
+
+
+	/**
+	 * A node whose younger brothers are searched in parallel, or the root of
+	 * the searches of the Lazy SMP helpers. It knows the split point above it,
+	 * because a cutoff there makes our search useless as well.
+	 */
+	static class SplitPoint {
+
+		private final SplitPoint parent;
+		private volatile boolean cancelled = false;
+
+		SplitPoint( SplitPoint parent ) {
+			this.parent = parent;
+		}
+
+		void cancel() {
+			cancelled = true;
+		}
+
+		boolean isCancelled() {
+			for ( SplitPoint point = this; point != null; point = point.parent ) {
+				if ( point.cancelled ) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+	} /* End of class SplitPoint. */
+
+
+	/**
+	 * The search of one younger brother at a split point.
+	 */
+	private static class SiblingTask extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		/* What to search. The board is the one of the split point's Searcher. */
+		final Lynx lynx;
+		final SplitPoint splitPoint;
+		final BitGameBoard parentBoard;
+		final int rootDepth;
+		final int square;
+		final int color;
+		final double alpha;
+		final double beta;
+		final int depth;
+
+		/*
+		 * What we found: the value of the move and the principal variation
+		 * below it, which are only valid if we are complete (the search was
+		 * neither aborted nor cancelled).
+		 */
+		double result;
+		int[] pv;
+		int pvEnd;
+		boolean complete = false;
+
+		SiblingTask( Lynx lynx, SplitPoint splitPoint, BitGameBoard parentBoard, int rootDepth,
+				int square, int color, double alpha, double beta, int depth ) {
+			this.lynx = lynx;
+			this.splitPoint = splitPoint;
+			this.parentBoard = parentBoard;
+			this.rootDepth = rootDepth;
+			this.square = square;
+			this.color = color;
+			this.alpha = alpha;
+			this.beta = beta;
+			this.depth = depth;
+		}
+
+		/**
+		 * Searches the move with a Searcher which isn't used by anybody else.
+		 * The thread may be the one of a split point above which waits for
+		 * its tasks, but that one's Searcher is left alone.
+		 */
+		protected void compute() {
+			Searcher searcher = lynx.acquireSearcher();
+			try {
+				result = searcher.searchSibling( this );
+			} finally {
+				lynx.releaseSearcher( searcher );
+			}
+		}
+
+	} /* End of class SiblingTask. */
+
+} /* End of class Searcher. */
@@ -0,0 +1,63 @@
+package lynx;
+
+
+/**
+ * A fast hyperbolic tangent for the units of our net, which call Math.tanh()
+ * five times per evaluation. The neurons of The Net use it as well. It interpolates linearly between the values in a
+ * table of tanh at STEPS points per unit from 0 to RANGE; beyond RANGE it is
+ * 1 (or -1), and tanh is odd, so negative arguments use the same table.
+ *
+ * The error of linear interpolation is at most h^2 / 8 * max |tanh''| with
+ * the step h = 1 / STEPS and max |tanh''| = 4 / (3 * sqrt(3)) < 0.7698, which
+ * is below 1.47e-6. Beyond RANGE the error is 1 - tanh(10) < 4.2e-9. So
+ *
+ *   |fast(x) - Math.tanh(x)| <= MAX_ERROR = 1.5e-6
+ *
+ * for every x (see benchmark.TanhBenchmark, which checks it). The net adds
+ * up four hidden units weighted with |Net.outputWeight| < 0.61 and takes the
+ * tanh once more, so its answer is off by less than 1.5e-6 * (4 * 0.61 + 1)
+ * < 5.2e-6. Whether Lynx uses it is a setting, see Config.getTanh().
+ */
+public final class Tanh {
+
+	/* The greatest difference to Math.tanh(), see above. */
+	public static final double MAX_ERROR = 1.5e-6;
+
+	/* The table covers [0, RANGE] with STEPS points per unit. */
+	private static final int RANGE = 10;
+	private static final int STEPS = 256;
+
+	/* The table, TABLE[i] = tanh( i / STEPS ). */
+	private static final double[] TABLE = new double[ RANGE * STEPS + 1 ];
+
+	static {
+		for ( int i = 0; i < TABLE.length; i++ ) {
+			TABLE[ i ] = Math.tanh( (double)i / STEPS );
+		}
+	}
+
+
+	/* Nobody needs an instance. */
+	private Tanh() {
+	} /* End of constructor Tanh(). */
+
+
+	/**
+	 * Calculates the hyperbolic tangent up to MAX_ERROR.
+	 *
+	 * @param x The argument.
+	 * @return tanh(x), up to MAX_ERROR.
+	 */
+	public static double fast( double x ) {
+
+		double position = Math.abs( x ) * STEPS;
+		if ( position >= RANGE * STEPS ) {
+			return Math.copySign( 1, x );
+		}
+		int i = (int)position;
+		double low = TABLE[ i ];
+		return Math.copySign( low + ( position - i ) * ( TABLE[ i + 1 ] - low ), x );
+
+	} /* End of fast(). */
+
+} /* End of class Tanh. */
@@ -0,0 +1,153 @@
+package lynx;
+
+
+/**
+ * The clock of Lynx. It knows when the time for a move is up and whether the
+ * next level of the iterative deepening can still be finished in time.
+ *
+ * Looking at the clock in every node costs more than the node itself, so the
+ * searches only ask isTimeUp() every CHECK_INTERVAL nodes. The deadline keeps
+ * a safety margin to the timeout for that and for returning the move; the
+ * Arena itself waits another ProgramParameters.TIME_TOLERANCE (100 ms)
+ * before it counts a move as too late.
+ *
+ * How long the next level takes is predicted from the last one and the
+ * effective branching factor, i.e. how many times more nodes a level needs
+ * than the one before. In Reversi it differs between odd and even levels,
+ * so we take the mean over the last two levels. A level that can't be
+ * finished before the deadline isn't started; its time would be lost.
+ *
+ * The deadline may be changed by another thread than the one searching
+ * (see Lynx.stopPondering()), the rest belongs to the searching thread.
+ */
+class TimeManager {
+
+	/* The number of nodes between two looks at the clock. A power of 2. */
+	static final int CHECK_INTERVAL = 1024;
+
+	/*
+	 * The effective branching factor we assume until we have seen two levels,
+	 * and the bounds for the one we measure.
+	 */
+	private static final double DEFAULT_BRANCHING_FACTOR = 4;
+	private static final double MIN_BRANCHING_FACTOR = 1.5;
+	private static final double MAX_BRANCHING_FACTOR = 16;
+
+	/* The margin to the timeout, in ns. */
+	private final long safetyNanos;
+
+	/* The deadline in System.nanoTime(). */
+	private volatile long deadlineNanos;
+
+	/* The start of the current level. */
+	private long levelStartNanos;
+
+	/*
+	 * The nodes of the last two completed levels (0 if there is none) and the
+	 * time of the last one.
+	 */
+	private long lastNodes;
+	private long previousNodes;
+	private long lastNanos;
+
+
+	/**
+	 * Creates a new clock.
+	 *
+	 * @param safetyMillis The margin to the timeout in ms.
+	 */
+	TimeManager( long safetyMillis ) {
+		this.safetyNanos = safetyMillis * 1000000L;
+	} /* End of constructor TimeManager(). */
+
+
+	/**
+	 * Starts the clock for a move. The levels of the last move are forgotten.
+	 *
+	 * @param timeoutMillis The time for the move in ms.
+	 */
+	void startMove( long timeoutMillis ) {
+
+		lastNodes = 0;
+		previousNodes = 0;
+		lastNanos = 0;
+		setTimeout( timeoutMillis );
+
+	} /* End of startMove(). */
+
+
+	/**
+	 * Restarts the clock with a new timeout from now on, but keeps what we
+	 * know about the levels searched so far.
+	 *
+	 * @param timeoutMillis The time from now on in ms.
+	 */
+	void setTimeout( long timeoutMillis ) {
+
+		deadlineNanos = System.nanoTime() + timeoutMillis * 1000000L - safetyNanos;
+
+	} /* End of setTimeout(). */
+
+
+	/**
+	 * @return true if the time for the move is up.
+	 */
+	boolean isTimeUp() {
+		return System.nanoTime() - deadlineNanos >= 0;
+	} /* End of isTimeUp(). */
+
+
+	/**
+	 * Tells the clock that a new level starts.
+	 */
+	void startLevel() {
+		levelStartNanos = System.nanoTime();
+	} /* End of startLevel(). */
+
+
+	/**
+	 * Tells the clock that a level was completed.
+	 *
+	 * @param nodes The nodes the level searched.
+	 */
+	void levelDone( long nodes ) {
+
+		previousNodes = lastNodes;
+		lastNodes = Math.max( nodes, 1 );
+		lastNanos = System.nanoTime() - levelStartNanos;
+
+	} /* End of levelDone(). */
+
+
+	/**
+	 * @return The effective branching factor measured over the last two
+	 * levels, or a default if we haven't seen two levels yet.
+	 */
+	double getBranchingFactor() {
+
+		if ( previousNodes == 0 ) {
+			return DEFAULT_BRANCHING_FACTOR;
+		}
+		double factor = Math.sqrt( (double)lastNodes / previousNodes );
+		return Math.max( MIN_BRANCHING_FACTOR, Math.min( factor, MAX_BRANCHING_FACTOR ) );
+
+	} /* End of getBranchingFactor(). */
+
+
+	/**
+	 * Predicts whether the next level can be finished before the deadline.
+	 *
+	 * @return true if it is worth starting it.
+	 */
+	boolean canFinishLevel() {
+
+		if ( lastNanos == 0 ) {
+			return !isTimeUp();
+		}
+		double predicted = lastNanos * getBranchingFactor();
+		return predicted < deadlineNanos - System.nanoTime();
+
+	} /* End of canFinishLevel(). */
+
+
+} /* End of class TimeManager. */
@@ -0,0 +1,259 @@
+package lynx;
+
+/**
+ * A fixed-size transposition table for the search of Lynx. For every position
+ * (identified by its Zobrist key, see reversi.BitGameBoard.getHash()) it
+ * stores the remaining depth it was searched to, the score, the type of bound
+ * the score represents and the best move found.
+ *
+ * The table consists of buckets with two entries each. The first entry is
+ * "depth-preferred": it is only replaced by a search of at least the same
+ * depth, by a newer result for the same position or by anything if it is
+ * left over from an earlier move. The second one is "always-replace" and
+ * takes everything the first one refuses.
+ *
+ * The table is kept for a whole game. Every entry carries the generation
+ * (the move of the game) it was written in, so results of earlier moves are
+ * still found, but don't block the deep slots forever.
+ *
+ * Every entry consists of two longs: the packed data and the key XORed with
+ * the data. A reader recomputes the key from both words and compares it with
+ * the key it is looking for. Since a torn write (one word from one writer,
+ * the other from another one) fails this check, several threads can share
+ * one table without any locking.
+ */
+public class TranspositionTable {
+
+	/* The bound types. A probe returning 0 means "no entry". */
+	public static final int UPPER_BOUND = 1;
+	public static final int LOWER_BOUND = 2;
+	public static final int EXACT = 3;
+
+	/* The value stored as move if no best move is known. */
+	public static final int NO_MOVE = 64;
+
+	/*
+	 * Layout of the data word:
+	 *   bits  0-31  score (as float), or
+	 *   bits  0-15  score (as 16-bit integer, see storeQuantized())
+	 *   bits 32-38  best move (0-63 or NO_MOVE)
+	 *   bits 39-46  remaining depth
+	 *   bits 47-48  bound type
+	 *   bits 49-56  generation
+	 */
+	private static final int MOVE_SHIFT = 32;
+	private static final int DEPTH_SHIFT = 39;
+	private static final int BOUND_SHIFT = 47;
+	private static final int GENERATION_SHIFT = 49;
+	private static final int MAX_DEPTH = 255;
+	private static final int MAX_GENERATION = 255;
+
+	/* Each bucket has two entries of two longs each, that is 32 bytes. */
+	private static final int LONGS_PER_BUCKET = 4;
+	private static final int BYTES_PER_BUCKET = LONGS_PER_BUCKET * 8;
+
+	/* The table itself and the mask selecting a bucket from a key. */
+	private final long[] table;
+	private final long bucketMask;
+
+	/* The generation new entries are written with. */
+	private int generation = 0;
+
+
+	/**
+	 * Creates a new table using at most the given amount of memory. The
+	 * number of buckets is the largest power of two that fits into the budget.
+	 *
+	 * @param megabytes The memory budget in MB.
+	 */
+	public TranspositionTable( int megabytes ) {
+
+		long buckets = 1;
+		long budget = Math.max( 1, (long)megabytes * 1024 * 1024 / BYTES_PER_BUCKET );
+		while ( buckets * 2 <= budget && buckets * 2 * LONGS_PER_BUCKET <= Integer.MAX_VALUE ) {
+			buckets *= 2;
+		}
+
+		table = new long[ (int)( buckets * LONGS_PER_BUCKET ) ];
+		bucketMask = buckets - 1;
+
+	} /* End of constructor TranspositionTable(). */
+
+
+	/**
+	 * Removes all entries.
+	 */
+	public void clear() {
+		java.util.Arrays.fill( table, 0 );
+		generation = 0;
+	} /* End of clear(). */
+
+
+	/**
+	 * Starts a new generation. This should be called once per move, so that
+	 * the entries of earlier moves get replaced first.
+	 */
+	public void newGeneration() {
+		generation = ( generation + 1 ) & MAX_GENERATION;
+	} /* End of newGeneration(). */
+
+
+	/**
+	 * Looks up a position.
+	 *
+	 * @param key The Zobrist key of the position.
+	 * @return The packed data of the entry (to be read with getScore(),
+	 * getMove(), getDepth() and getBound()) or 0 if there is none.
+	 */
+	public long probe( long key ) {
+
+		int index = (int)( key & bucketMask ) * LONGS_PER_BUCKET;
+
+		for ( int entry = index; entry < index + LONGS_PER_BUCKET; entry += 2 ) {
+			long data = table[ entry + 1 ];
+			if ( ( table[ entry ] ^ data ) == key && data != 0 ) {
+				return data;
+			}
+		}
+		return 0;
+	} /* End of probe(). */
+
+
+	/**
+	 * Stores the result of a search.
+	 *
+	 * The score is stored as a float. Lower bounds are rounded down and upper
+	 * bounds are rounded up so that a cutoff based on a stored bound is never
+	 * wrong because of the rounding.
+	 *
+	 * @param key The Zobrist key of the position.
+	 * @param depth The remaining depth the position was searched to.
+	 * @param bound One of UPPER_BOUND, LOWER_BOUND or EXACT.
+	 * @param score The score found.
+	 * @param move The best move found or NO_MOVE.
+	 */
+	public void store( long key, int depth, int bound, double score, int move ) {
+		write( key, depth, pack( depth, bound, score, move, generation ) );
+	} /* End of store(). */
+
+
+	/**
+	 * Stores the result of a search with integer scores (see QuantizedNet.java).
+	 * The score takes only 16 bits, so it's stored exactly. A table must not
+	 * be used for both kinds of scores at once.
+	 *
+	 * @param key The Zobrist key of the position.
+	 * @param depth The remaining depth the position was searched to.
+	 * @param bound One of UPPER_BOUND, LOWER_BOUND or EXACT.
+	 * @param score The score found, within the range of a short.
+	 * @param move The best move found or NO_MOVE.
+	 */
+	public void storeQuantized( long key, int depth, int bound, int score, int move ) {
+		write( key, depth, ( score & 0xffffL ) | ( pack( depth, bound, 0, move, generation ) & ~0xffffffffL ) );
+	} /* End of storeQuantized(). */
+
+
+	/**
+	 * Writes an entry into the bucket of its key.
+	 *
+	 * @param key The Zobrist key of the position.
+	 * @param depth The remaining depth the position was searched to.
+	 * @param data The packed entry.
+	 */
+	private void write( long key, int depth, long data ) {
+
+		int index = (int)( key & bucketMask ) * LONGS_PER_BUCKET;
+
+		/*
+		 * The depth-preferred entry takes it if it's at least as deep, if it's
+		 * the same position or if the entry is of an earlier move. The other
+		 * one takes it else.
+		 */
+		int entry = index;
+		long old = table[ index + 1 ];
+		if ( depth < getDepth( old )
+				&& ( table[ index ] ^ old ) != key
+				&& getGeneration( old ) == generation ) {
+			entry = index + 2;
+		}
+
+		table[ entry + 1 ] = data;
+		table[ entry ] = key ^ data;
+
+	} /* End of write(). */
+
+
+	/**
+	 * Packs an entry into one long.
+	 */
+	private static long pack( int depth, int bound, double score, int move, int generation ) {
+
+		float f = (float)score;
+		if ( bound == LOWER_BOUND && f > score ) {
+			f = Math.nextDown( f );
+		} else if ( bound == UPPER_BOUND && f < score ) {
+			f = Math.nextUp( f );
+		}
+
+		return ( Float.floatToIntBits( f ) & 0xffffffffL )
+				| ( (long)move << MOVE_SHIFT )
+				| ( (long)Math.min( Math.max( depth, 0 ), MAX_DEPTH ) << DEPTH_SHIFT )
+				| ( (long)bound << BOUND_SHIFT )
+				| ( (long)generation << GENERATION_SHIFT );
+	} /* End of pack(). */
+
+
+	/**
+	 * @param data An entry as returned by probe().
+	 * @return The score of the entry.
+	 */
+	public static double getScore( long data ) {
+		return Float.intBitsToFloat( (int)data );
+	} /* End of getScore(). */
+
+
+	/**
+	 * @param data An entry as returned by probe(), stored by storeQuantized().
+	 * @return The score of the entry.
+	 */
+	public static int getQuantizedScore( long data ) {
+		return (short)data;
+	} /* End of getQuantizedScore(). */
+
+
+	/**
+	 * @param data An entry as returned by probe().
+	 * @return The best move of the entry or NO_MOVE.
+	 */
+	public static int getMove( long data ) {
+		return (int)( data >>> MOVE_SHIFT ) & 0x7f;
+	} /* End of getMove(). */
+
+
+	/**
+	 * @param data An entry as returned by probe().
+	 * @return The remaining depth the entry was searched to.
+	 */
+	public static int getDepth( long data ) {
+		return (int)( data >>> DEPTH_SHIFT ) & MAX_DEPTH;
+	} /* End of getDepth(). */
+
+
+	/**
+	 * @param data An entry as returned by probe().
+	 * @return One of UPPER_BOUND, LOWER_BOUND or EXACT.
+	 */
+	public static int getBound( long data ) {
+		return (int)( data >>> BOUND_SHIFT ) & 0x3;
+	} /* End of getBound(). */
+
+
+	/**
+	 * @param data An entry as returned by probe().
+	 * @return The generation the entry was written in.
+	 */
+	private static int getGeneration( long data ) {
+		return (int)( data >>> GENERATION_SHIFT ) & MAX_GENERATION;
+	} /* End of getGeneration(). */
+
+} /* End of class TranspositionTable. */
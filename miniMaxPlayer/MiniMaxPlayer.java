@@ -5,6 +5,9 @@
 package miniMaxPlayer;
 
 import lookOneAheadPlayer.LookOneAheadPlayer;
+import player.Evaluator;
+import player.EvaluatorConfig;
+import reversi.BitGameBoard;
 import reversi.Coordinates;
 import reversi.GameBoard;
 import reversi.TextGameBoard;
@@ -12,7 +15,8 @@ import reversi.TextGameBoard;
 /**
  * This player implements a method to evaluate a game situation. It tries to
  * find the best move by simulating each possible move and then evaluating the
- * resulting situation.
+ * resulting situation. It evaluates like LookOneAheadPlayer, unless it is
+ * given another evaluation function (see player.Evaluator).
  * 
  * @author Jonas Huber
  * @author Benedikt Koeppel
@@ -44,6 +48,36 @@ public class MiniMaxPlayer extends LookOneAheadPlayer {
 	 * at this time, the current move started
 	 */
 	protected long starttime=0;
+	
+	/**
+	 * The value of 1 of a given evaluation function.
+	 */
+	private final int EVALUATOR_SCALE = 1000000;
+	
+	/* The board a given evaluation function gets the situations on. */
+	private final BitGameBoard bitBoard = new BitGameBoard();
+	
+	/* The evaluation function we were given, or null for the one of LookOneAheadPlayer. */
+	private final Evaluator evaluator;
+	
+	/**
+	 * Creates a player with the evaluation function chosen by the property
+	 * player.eval (see player.EvaluatorConfig), or which evaluates like
+	 * LookOneAheadPlayer if that is not set.
+	 */
+	public MiniMaxPlayer() {
+		this( EvaluatorConfig.getEvaluator( null ) );
+	} /* End of constructor MiniMaxPlayer(). */
+	
+	/**
+	 * Creates a player with the given evaluation function.
+	 * 
+	 * @param evaluator The evaluation function, or null for the one of
+	 * LookOneAheadPlayer.
+	 */
+	public MiniMaxPlayer( Evaluator evaluator ) {
+		this.evaluator = evaluator;
+	} /* End of constructor MiniMaxPlayer(). */
 
 	
 	/**
@@ -161,17 +195,17 @@ public class MiniMaxPlayer extends LookOneAheadPlayer {
 		System.out.println("(II) Max depth: " + maximumDepth + " Current depth: " + depth );
 		if ( depth>=maximumDepth ) {
 			System.out.println("(II) Reached the maximum depth of recursion. Max depth: " + maximumDepth + " Current depth: " + depth );
-			return evaluate(color, boardAfterNextMove);
+			return evaluateLeaf(color, boardAfterNextMove);
 		}
 		if ( getTimeLeft()<abortTime ) {
 			System.out.println("(WW) Low on time!!!");
-			return evaluate(color, boardAfterNextMove);
+			return evaluateLeaf(color, boardAfterNextMove);
 		}
 		if ( isGameFinished(boardAfterNextMove) ) {
 			/*
 			 * TODO: check here, if we win and return Integer.MAX_VALUE
 			 */
-			return evaluate(color, boardAfterNextMove);
+			return evaluateLeaf(color, boardAfterNextMove);
 		}
 		
 		/*
@@ -213,6 +247,25 @@ public class MiniMaxPlayer extends LookOneAheadPlayer {
 		return result;
 	}
 
+	/**
+	 * Evaluates a situation with the evaluation function of LookOneAheadPlayer
+	 * or, from our view, with the one we were given. The values of the latter
+	 * are scaled to ints by EVALUATOR_SCALE.
+	 * 
+	 * @param p The color of the player we're interested in.
+	 * @param tgb The situation to evaluate.
+	 * @return The value of this situation.
+	 */
+	private int evaluateLeaf( int p, TextGameBoard tgb ) {
+		
+		if ( evaluator != null ) {
+			bitBoard.updateBoard( tgb );
+			return (int)Math.round( EVALUATOR_SCALE * evaluator.evaluate( bitBoard, color ) );
+		}
+		return evaluate( p, tgb );
+		
+	} /* End of evaluateLeaf(). */
+
 	private long getTimeLeft() {
 		long timeLeft = timeout - (System.currentTimeMillis() - starttime);
 		System.out.println("(II) Time left:" + timeLeft);
@@ -5,11 +5,15 @@ package miniMaxV2;
 
 import reversi.*;
 import lookOneAheadPlayer.LookOneAheadPlayer;
+import player.Evaluator;
+import player.EvaluatorConfig;
+import player.MoveOrdering;
 
 /**
  * This player implements a method to evaluate a game situation. It tries to
  * find the best move by simulating each possible move and then evaluating the
- * resulting situation.
+ * resulting situation. It evaluates like LookOneAheadPlayer, unless it is
+ * given another evaluation function (see player.Evaluator).
  * @author Jonas Huber
  * @author Benedikt Koeppel
  *
@@ -23,12 +27,47 @@ public class MiniMaxV2 extends LookOneAheadPlayer {
 	 */
 	private final int MAX_DEPTH = 6;		/** The maximum depth we go down the tree. */
 	private final int ABORT_TIME = 100;		/** The minium number of ms that have to be left before we abort. */
+	private final int EVALUATOR_SCALE = 1000000;	/** The value of 1 of a given evaluation function. */
 	
 	/*
 	 * Global variables.
 	 */
 	private long startTime = 0;
 	
+	/*
+	 * The move ordering. Minimax has no cutoffs, but if we run out of time,
+	 * the most promising moves should have been searched already.
+	 */
+	private MoveOrdering ordering = new MoveOrdering( valueField );
+	
+	/*
+	 * The board the legal moves are generated on. It is reused by every node,
+	 * so that finding the moves costs no allocation.
+	 */
+	private final BitGameBoard bitBoard = new BitGameBoard();
+	
+	/* The evaluation function we were given, or null for the one of LookOneAheadPlayer. */
+	private final Evaluator evaluator;
+	
+	/**
+	 * Creates a player with the evaluation function chosen by the property
+	 * player.eval (see player.EvaluatorConfig), or which evaluates like
+	 * LookOneAheadPlayer if that is not set.
+	 */
+	public MiniMaxV2() {
+		this( EvaluatorConfig.getEvaluator( null ) );
+	} /* End of constructor MiniMaxV2(). */
+	
+	/**
+	 * Creates a player with the given evaluation function.
+	 * 
+	 * @param evaluator The evaluation function, or null for the one of
+	 * LookOneAheadPlayer.
+	 */
+	public MiniMaxV2( Evaluator evaluator ) {
+		this.evaluator = evaluator;
+	} /* End of constructor MiniMaxV2(). */
+	
 	/**
 	 * This player makes its move by performing a minimax-search down to a
 	 * specified depth. It also tries to stay within the given time limit.
@@ -59,38 +98,44 @@ public class MiniMaxV2 extends LookOneAheadPlayer {
 		TextGameBoard boardAfterNextMove = new TextGameBoard( gb );
 		
 		/*
-		 * Iteration through every field on the board.
+		 * Iteration through every possible move, the most promising first.
 		 */
-		for ( int row = 1; row <= gb.getSize(); row++ ) {
-			for ( int col = 1; col <= gb.getSize(); col++ ) {
+		bitBoard.updateBoard( gb );
+		long moves = bitBoard.legalMoves( color );
+		int[] ordered = ordering.order( moves, color, 0, MoveOrdering.NO_MOVE );
+		for ( int i = 0; i < Long.bitCount( moves ); i++ ) {
+			
+			coord = BitGameBoard.coordinates( ordered[ i ] );
+			
+			/* Setting the back to the initial situation... */
+			boardAfterNextMove.updateBoard( gb );
+			/* 
+			 * If a move to this field is possible, we're going to 
+			 * build and evaluate the resulting MiniMax-tree.
+			 */
+			
+			if ( boardAfterNextMove.checkMove(color, coord) ) {
 				
-				coord = new Coordinates( row, col );
 				
-				/* Setting the back to the initial situation... */
-				boardAfterNextMove.updateBoard( gb );
-				/* 
-				 * If a move to this field is possible, we're going to 
-				 * build and evaluate the resulting MiniMax-tree.
-				 */
+				boardAfterNextMove.makeMove( color, coord );
+				eval = Math.max( eval, -miniMax( color, boardAfterNextMove, 1 ) );
 				
-				if ( boardAfterNextMove.checkMove(color, coord) ) {
-					
-					
-					boardAfterNextMove.makeMove( color, coord );
-					eval = Math.max( eval, -miniMax( color, boardAfterNextMove, 1 ) );
-					
-					System.out.println("(II) Checked move (" + coord.getRow() + "," + coord.getCol() + "): eval=" + eval);
+				System.out.println("(II) Checked move (" + coord.getRow() + "," + coord.getCol() + "): eval=" + eval);
+			
+				/* If this move is better than a previous one, we choose this move. */
 				
-					/* If this move is better than a previous one, we choose this move. */
-					
-					if ( eval > bestEval ) {
-						bestCoord = coord;
-						bestEval = eval;
-					}
+				if ( eval > bestEval ) {
+					bestCoord = coord;
+					bestEval = eval;
 				}
 			}
 		}
 		
+		/* Remembering the best move for the next searches. */
+		if ( bestCoord != null ) {
+			ordering.goodMove( color, 0, BitGameBoard.square( bestCoord ), MAX_DEPTH );
+		}
+		
 		if ( bestCoord == null ) {
 			System.out.println( "(EE) Will return null, but bestEval = " + bestEval);
 		}
@@ -130,7 +175,7 @@ public class MiniMaxV2 extends LookOneAheadPlayer {
 		if ( !timeOK() ) {
 			System.out.println("(WW) Runnning out of time...");
 
-			return evaluate( color, tgb );
+			return evaluate( tgb );
 
 		}
 		
@@ -153,7 +198,7 @@ public class MiniMaxV2 extends LookOneAheadPlayer {
 		 */
 		if ( depth >= MAX_DEPTH ) {
 
-			return evaluate( color, tgb );
+			return evaluate( tgb );
 
 		}
 		
@@ -166,32 +211,61 @@ public class MiniMaxV2 extends LookOneAheadPlayer {
 		 */
 		result = Integer.MIN_VALUE + 1;
 
-		/* Now we iterate over all the fields while searching for possible moves. */
-		for ( int row = 1; row <= tgb.getSize(); row++ ) {
-			for ( int col = 1; col <= tgb.getSize(); col++ ) {
-				
-				coord = new Coordinates( row, col );
-				
-				/* Resetting the board. */
-				boardAfterNextMove.updateBoard( tgb );
+		/* Now we iterate over all possible moves, the most promising first. */
+		bitBoard.updateBoard( tgb );
+		long moves = bitBoard.legalMoves( nextColor );
+		int[] ordered = ordering.order( moves, nextColor, depth, MoveOrdering.NO_MOVE );
+		int bestSquare = MoveOrdering.NO_MOVE;
+		for ( int i = 0; i < Long.bitCount( moves ); i++ ) {
+			
+			coord = BitGameBoard.coordinates( ordered[ i ] );
+			
+			/* Resetting the board. */
+			boardAfterNextMove.updateBoard( tgb );
+			
+			/*
+			 * If the move is possible, we do the move and thereby check the turn
+			 * of which player it is.
+			 * (See English Wikipedia!)
+			 */
+			if ( boardAfterNextMove.checkMove( nextColor, coord ) ) {
 				
-				/*
-				 * If the move is possible, we do the move and thereby check the turn
-				 * of which player it is.
-				 * (See English Wikipedia!)
-				 */
-				if ( boardAfterNextMove.checkMove( nextColor, coord ) ) {
-					
-					boardAfterNextMove.makeMove( nextColor, coord );
-					result = Math.max( result, -miniMax( nextColor, boardAfterNextMove, depth + 1 ) );
+				boardAfterNextMove.makeMove( nextColor, coord );
+				int value = -miniMax( nextColor, boardAfterNextMove, depth + 1 );
+				if ( value > result ) {
+					result = value;
+					bestSquare = ordered[ i ];
 				}
-				
 			}
-		} /* End of iteration over all fields. */
+			
+		} /* End of iteration over all moves. */
+		
+		/* Remembering the best move for the next searches. */
+		if ( bestSquare != MoveOrdering.NO_MOVE ) {
+			ordering.goodMove( nextColor, depth, bestSquare, MAX_DEPTH - depth );
+		}
 		
 		return result;
 	} /* End of miniMax(). */
 	
+	/**
+	 * Evaluates a situation from our view, with the evaluation function of
+	 * LookOneAheadPlayer or the one we were given. The values of the latter
+	 * are scaled to ints by EVALUATOR_SCALE.
+	 * 
+	 * @param tgb The situation to evaluate.
+	 * @return The value of this situation.
+	 */
+	private int evaluate( TextGameBoard tgb ) {
+		
+		if ( evaluator != null ) {
+			bitBoard.updateBoard( tgb );
+			return (int)Math.round( EVALUATOR_SCALE * evaluator.evaluate( bitBoard, color ) );
+		}
+		return evaluate( color, tgb );
+		
+	} /* End of evaluate(). */
+	
 	/**
 	 * Checks whether we are still within the timeout limit and didn't yet 
 	 * violate our saftey-zone...
@@ -0,0 +1,20 @@
+package player;
+
+import reversi.BitGameBoard;
+
+
+/**
+ * Evaluates a situation by the difference of the stones, our ones minus the
+ * enemy's, divided by 64 to fit the range of an Evaluator. This is what
+ * alphaBeta.AlphaBeta plays with unless it is given another Evaluator.
+ */
+public class DiscDifferenceEvaluator implements Evaluator {
+
+	/**
+	 * @see player.Evaluator#evaluate(reversi.BitGameBoard, int)
+	 */
+	public double evaluate( BitGameBoard board, int player ) {
+		return ( Long.bitCount( board.getStones( player ) ) - Long.bitCount( board.getStones( 3 - player ) ) ) / 64.0;
+	} /* End of evaluate(). */
+
+} /* End of class DiscDifferenceEvaluator. */
@@ -0,0 +1,39 @@
+package player;
+
+import reversi.BitGameBoard;
+
+
+/**
+ * An evaluation function: tells how good a situation is for one of the
+ * players. The search players (alphaBeta.AlphaBeta, alphaBeta.AlphaBeta2,
+ * miniMaxPlayer.MiniMaxPlayer, miniMaxV2.MiniMaxV2 and lynx.Lynx) take one
+ * of these instead of evaluating by themselves, so that every search can be
+ * combined with every evaluation:
+ * - SquareTableEvaluator: the values of the squares, like LookOneAheadPlayer,
+ * - DiscDifferenceEvaluator: the difference of the stones,
+ * - lynx.NetEvaluator: the neural net of Lynx,
+ * - theNet.NetEvaluator: the neural net of The Net,
+ * - lynx.PatternEvaluator: the patterns of Lynx,
+ * - MobilityEvaluator: the moves, frontier, corners and stable stones.
+ * Without a recompile, the property player.eval chooses one of them (see
+ * EvaluatorConfig). benchmark.EvaluatorBenchmark measures how fast they are.
+ *
+ * The values are between -1 and 1, like the answers of the nets, so that a
+ * search can tell them from won or lost games (Lynx e.g. adds +-3 for
+ * games that are over). Greater values are better for the player.
+ *
+ * An evaluator may be used by several threads at the same time.
+ */
+public interface Evaluator {
+
+	/**
+	 * Evaluates a situation. Only the stones count, not who is to move.
+	 *
+	 * @param board The situation.
+	 * @param player The player whose view the value is from, GameBoard.RED or
+	 * GameBoard.GREEN.
+	 * @return The value, between -1 and 1.
+	 */
+	double evaluate( BitGameBoard board, int player );
+
+} /* End of interface Evaluator. */
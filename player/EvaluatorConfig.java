@@ -0,0 +1,80 @@
+package player;
+
+import lookOneAheadPlayer.LookOneAheadPlayer;
+
+
+/**
+ * Chooses the evaluation function of the search players (see Evaluator)
+ * without recompiling them, so that reversi.Arena, which only knows their
+ * names, can play every search with every evaluation. It is read from the
+ * system property player.eval, e.g.
+ *
+ *   java -Dplayer.eval=disc reversi.Arena ...
+ *
+ * The constructors without arguments of the search players read it. An
+ * unknown value is reported and the player evaluates as if it weren't set.
+ */
+public class EvaluatorConfig {
+
+	/* The name of our system property. */
+	private static final String PROPERTY = "player.eval";
+
+	/* The possible values of the property. */
+	public static final String EVAL_SQUARE = "square";
+	public static final String EVAL_DISC = "disc";
+	public static final String EVAL_LYNX_NET = "lynxnet";
+	public static final String EVAL_THE_NET = "thenet";
+	public static final String EVAL_PATTERNS = "patterns";
+	public static final String EVAL_MOBILITY = "mobility";
+
+
+	/* Nobody needs an instance. */
+	private EvaluatorConfig() {
+	} /* End of constructor EvaluatorConfig(). */
+
+
+	/**
+	 * The evaluation function (property player.eval):
+	 * - "square": The values of the squares, see SquareTableEvaluator.
+	 * - "disc": The difference of the stones, see DiscDifferenceEvaluator.
+	 * - "lynxnet": The neural net of Lynx, see lynx.NetEvaluator. The tanh
+	 *   is chosen by lynx.tanh (see lynx.Config.getTanh()).
+	 * - "thenet": The neural net of The Net, see theNet.NetEvaluator. The
+	 *   tanh is chosen by theNet.tanh (see theNet.TheNet).
+	 * - "patterns": The experimental patterns of Lynx, with the weights of
+	 *   lynx.patterns, see lynx.PatternEvaluator.fromConfig().
+	 * - "mobility": The moves, frontier, corners and stable stones, see
+	 *   MobilityEvaluator.
+	 *
+	 * @param defaultEvaluator What the player evaluates with if the property
+	 * is not set, may be null.
+	 * @return The chosen evaluator, or defaultEvaluator.
+	 */
+	public static Evaluator getEvaluator( Evaluator defaultEvaluator ) {
+
+		String value = System.getProperty( PROPERTY );
+		if ( value == null ) {
+			return defaultEvaluator;
+		}
+
+		value = value.trim().toLowerCase();
+		if ( value.equals( EVAL_SQUARE ) ) {
+			return new SquareTableEvaluator( LookOneAheadPlayer.VALUE_FIELD );
+		} else if ( value.equals( EVAL_DISC ) ) {
+			return new DiscDifferenceEvaluator();
+		} else if ( value.equals( EVAL_LYNX_NET ) ) {
+			return new lynx.NetEvaluator( lynx.Config.getTanh().equals( lynx.Config.TANH_FAST ) );
+		} else if ( value.equals( EVAL_THE_NET ) ) {
+			return new theNet.NetEvaluator( "fast".equals( System.getProperty( "theNet.tanh" ) ) );
+		} else if ( value.equals( EVAL_PATTERNS ) ) {
+			return lynx.PatternEvaluator.fromConfig();
+		} else if ( value.equals( EVAL_MOBILITY ) ) {
+			return new MobilityEvaluator();
+		}
+
+		System.out.println( "(WW) Unknown value '" + System.getProperty( PROPERTY ) + "' for " + PROPERTY + ", using the player's own evaluation." );
+		return defaultEvaluator;
+
+	} /* End of getEvaluator(). */
+
+} /* End of class EvaluatorConfig. */
@@ -0,0 +1,212 @@
+package player;
+
+import reversi.BitGameBoard;
+
+
+/**
+ * The features of a situation which strong Othello programs evaluate besides
+ * the squares, computed from the bitboards (see reversi.BitGameBoard) in a
+ * few dozen bit operations each instead of walking the board with
+ * checkMove():
+ * - mobility: the number of legal moves,
+ * - potential mobility: the empty squares next to a stone of the enemy,
+ *   which may become moves later,
+ * - frontier: the stones next to an empty square, which give the enemy
+ *   moves,
+ * - corners and corner-adjacent stones: the stones on the X- and C-squares
+ *   of corners which are still empty, which tend to give the corner away,
+ * - stable stones: stones which can't be flipped any more, whatever is
+ *   played (see stableDiscs()).
+ * All of them are from the view of the player whose stones are given first;
+ * swapping the arguments gives the enemy's. MobilityEvaluator weighs them.
+ *
+ * There are no instances, so any thread may use them at any time.
+ */
+public final class Features {
+
+	/* The four corners. */
+	public static final long CORNERS = 0x8100000000000081L;
+
+	/* The squares on the edges of the board. */
+	public static final long EDGES = 0xff818181818181ffL;
+
+	/* The masks which keep the shifts from wrapping around the edges. */
+	private static final long NOT_A_FILE = 0xfefefefefefefefeL;
+	private static final long NOT_H_FILE = 0x7f7f7f7f7f7f7f7fL;
+
+	/* The first column and row. */
+	private static final long A_FILE = 0x0101010101010101L;
+	private static final long FIRST_ROW = 0xffL;
+
+	/* The diagonals (col - row constant) and anti-diagonals (col + row constant). */
+	private static final long[] DIAGONALS = new long[ 15 ];
+	private static final long[] ANTI_DIAGONALS = new long[ 15 ];
+
+	static {
+		for ( int square = 0; square < 64; square++ ) {
+			int row = square / 8;
+			int col = square % 8;
+			DIAGONALS[ col - row + 7 ] |= 1L << square;
+			ANTI_DIAGONALS[ col + row ] |= 1L << square;
+		}
+	}
+
+
+	/* Nobody needs an instance. */
+	private Features() {
+	} /* End of constructor Features(). */
+
+
+	/**
+	 * @param stones Some squares.
+	 * @return The squares next to them in any of the eight directions, without
+	 * the squares themselves unless they are next to each other.
+	 */
+	public static long neighbours( long stones ) {
+
+		long horizontal = ( ( stones << 1 ) & NOT_A_FILE ) | ( ( stones >>> 1 ) & NOT_H_FILE );
+		long row = stones | horizontal;
+		return horizontal | ( row << 8 ) | ( row >>> 8 );
+
+	} /* End of neighbours(). */
+
+
+	/**
+	 * @param own The stones of the player.
+	 * @param enemy The stones of the enemy.
+	 * @return The number of legal moves of the player.
+	 */
+	public static int mobility( long own, long enemy ) {
+		return Long.bitCount( BitGameBoard.legalMoves( own, enemy ) );
+	} /* End of mobility(). */
+
+
+	/**
+	 * @param own The stones of the player.
+	 * @param enemy The stones of the enemy.
+	 * @return The number of empty squares next to a stone of the enemy.
+	 */
+	public static int potentialMobility( long own, long enemy ) {
+		return Long.bitCount( neighbours( enemy ) & ~( own | enemy ) );
+	} /* End of potentialMobility(). */
+
+
+	/**
+	 * @param own The stones of the player.
+	 * @param enemy The stones of the enemy.
+	 * @return The number of stones of the player next to an empty square.
+	 */
+	public static int frontier( long own, long enemy ) {
+		return Long.bitCount( own & neighbours( ~( own | enemy ) ) );
+	} /* End of frontier(). */
+
+
+	/**
+	 * @param own The stones of the player.
+	 * @return The number of corners of the player.
+	 */
+	public static int corners( long own ) {
+		return Long.bitCount( own & CORNERS );
+	} /* End of corners(). */
+
+
+	/**
+	 * @param own The stones of the player.
+	 * @param enemy The stones of the enemy.
+	 * @return The number of stones of the player on the X- and C-squares of
+	 * the corners which are still empty.
+	 */
+	public static int cornerAdjacent( long own, long enemy ) {
+		return Long.bitCount( own & neighbours( CORNERS & ~( own | enemy ) ) );
+	} /* End of cornerAdjacent(). */
+
+
+
+	/**
+	 * @param own The stones of the player.
+	 * @param enemy The stones of the enemy.
+	 * @return The number of stable stones of the player, see stableDiscs().
+	 */
+	public static int stability( long own, long enemy ) {
+		return Long.bitCount( stableDiscs( own, enemy ) );
+	} /* End of stability(). */
+
+
+	/**
+	 * Finds stones of the player which can't be flipped any more. A stone
+	 * can only be flipped along one of its four lines (horizontal, vertical
+	 * and the two diagonals), between two enemy stones, so it is stable if
+	 * on each line
+	 * - the line is full, so nothing can be played on it any more, or
+	 * - the next square on one side is off the board or a stable stone of
+	 *   the player, so it can't be enclosed from that side.
+	 * We start with the stones on full lines and the ones connected to an
+	 * own corner along an edge, and add stones by this rule until none are
+	 * added any more.
+	 *
+	 * Not every stable stone is found (e.g. stones enclosed by stable enemy
+	 * stones aren't), but every stone found is stable, so the result is a
+	 * lower bound, which is what stability cutoffs need.
+	 *
+	 * @param own The stones of the player.
+	 * @param enemy The stones of the enemy.
+	 * @return The stable stones found.
+	 */
+	public static long stableDiscs( long own, long enemy ) {
+
+		long filled = own | enemy;
+
+		/* The full lines: rows and columns by folding, the diagonals one by one. */
+		long row = filled & ( filled >>> 1 );
+		row &= row >>> 2;
+		row &= row >>> 4;
+		long fullRows = ( row & A_FILE ) * FIRST_ROW;
+
+		long col = filled & ( filled >>> 8 );
+		col &= col >>> 16;
+		col &= col >>> 32;
+		long fullCols = ( col & FIRST_ROW ) * A_FILE;
+
+		long fullDiagonals = 0;
+		long fullAntiDiagonals = 0;
+		for ( int i = 0; i < 15; i++ ) {
+			if ( ( filled & DIAGONALS[ i ] ) == DIAGONALS[ i ] ) {
+				fullDiagonals |= DIAGONALS[ i ];
+			}
+			if ( ( filled & ANTI_DIAGONALS[ i ] ) == ANTI_DIAGONALS[ i ] ) {
+				fullAntiDiagonals |= ANTI_DIAGONALS[ i ];
+			}
+		}
+
+		/* Stones on four full lines, and the edges flooded from our corners. */
+		long stable = own & fullRows & fullCols & fullDiagonals & fullAntiDiagonals;
+		long edges = own & EDGES;
+		long flood = own & CORNERS;
+		for ( long last = 0; flood != last; ) {
+			last = flood;
+			flood |= edges & ( ( ( flood << 1 ) & NOT_A_FILE ) | ( ( flood >>> 1 ) & NOT_H_FILE )
+					| ( flood << 8 ) | ( flood >>> 8 ) );
+		}
+		stable |= flood;
+
+		/*
+		 * The rule above, where the squares on the edges count as having a
+		 * neighbour off the board in the directions that leave the board.
+		 */
+		long horizontalWall = fullRows | ~NOT_A_FILE | ~NOT_H_FILE;
+		long verticalWall = fullCols | FIRST_ROW | ( FIRST_ROW << 56 );
+		long diagonalWall = fullDiagonals | EDGES;
+		long antiDiagonalWall = fullAntiDiagonals | EDGES;
+		for ( long last = 0; stable != last; ) {
+			last = stable;
+			long horizontal = horizontalWall | ( ( stable << 1 ) & NOT_A_FILE ) | ( ( stable >>> 1 ) & NOT_H_FILE );
+			long vertical = verticalWall | ( stable << 8 ) | ( stable >>> 8 );
+			long diagonal = diagonalWall | ( ( stable << 9 ) & NOT_A_FILE ) | ( ( stable >>> 9 ) & NOT_H_FILE );
+			long antiDiagonal = antiDiagonalWall | ( ( stable << 7 ) & NOT_H_FILE ) | ( ( stable >>> 7 ) & NOT_A_FILE );
+			stable |= own & horizontal & vertical & diagonal & antiDiagonal;
+		}
+		return stable;
+
+	} /* End of stableDiscs(). */
+
+} /* End of class Features. */
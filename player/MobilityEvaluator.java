@@ -0,0 +1,59 @@
+package player;
+
+import reversi.BitGameBoard;
+
+
+/**
+ * Evaluates a situation by the features of Features.java, our ones minus the
+ * enemy's, each with a weight:
+ * - a legal move counts MOBILITY, an empty square next to an enemy stone
+ *   POTENTIAL_MOBILITY,
+ * - a stone on the frontier counts FRONTIER (a penalty),
+ * - a corner counts CORNER, a stone next to an empty corner CORNER_ADJACENT
+ *   (a penalty),
+ * - a stable stone counts STABLE, on top of the above.
+ * The sum is mapped to the range of an Evaluator with tanh( sum / SCALE ).
+ *
+ * The weights are set by hand, in the proportions the Othello literature
+ * gives for the midgame; they aren't trained. A player is given this
+ * evaluator with -Dplayer.eval=mobility (see EvaluatorConfig).
+ */
+public class MobilityEvaluator implements Evaluator {
+
+	/* The weights of the features. */
+	public static final int MOBILITY = 10;
+	public static final int POTENTIAL_MOBILITY = 3;
+	public static final int FRONTIER = -3;
+	public static final int CORNER = 80;
+	public static final int CORNER_ADJACENT = -20;
+	public static final int STABLE = 10;
+
+	/* The sum which is worth a value of tanh(1), about a corner. */
+	public static final double SCALE = 100;
+
+
+	/**
+	 * @see player.Evaluator#evaluate(reversi.BitGameBoard, int)
+	 */
+	public double evaluate( BitGameBoard board, int player ) {
+		return Math.tanh( getSum( board.getStones( player ), board.getStones( 3 - player ) ) / SCALE );
+	} /* End of evaluate(). */
+
+
+	/**
+	 * @param own The stones of the player.
+	 * @param enemy The stones of the enemy.
+	 * @return The weighted features of the player minus those of the enemy.
+	 */
+	public int getSum( long own, long enemy ) {
+
+		return MOBILITY * ( Features.mobility( own, enemy ) - Features.mobility( enemy, own ) )
+				+ POTENTIAL_MOBILITY * ( Features.potentialMobility( own, enemy ) - Features.potentialMobility( enemy, own ) )
+				+ FRONTIER * ( Features.frontier( own, enemy ) - Features.frontier( enemy, own ) )
+				+ CORNER * ( Features.corners( own ) - Features.corners( enemy ) )
+				+ CORNER_ADJACENT * ( Features.cornerAdjacent( own, enemy ) - Features.cornerAdjacent( enemy, own ) )
+				+ STABLE * ( Features.stability( own, enemy ) - Features.stability( enemy, own ) );
+
+	} /* End of getSum(). */
+
+} /* End of class MobilityEvaluator. */
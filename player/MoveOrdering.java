@@ -0,0 +1,208 @@
+package player;
+
+
+/**
+ * Orders the moves of a node so that alpha-beta-pruning finds its cutoffs
+ * early. The moves are tried in this order:
+ *
+ * 1. The hash move (the best move of an earlier search of the same situation,
+ *    e.g. from a transposition table or a principal variation).
+ * 2. The two killer moves of this ply, i.e. the last moves which caused a
+ *    cutoff in another node at the same ply.
+ * 3. All other moves by their history score, which counts how often (and how
+ *    deep) a move to this square was good for this player.
+ * 4. Moves with the same history score by a static priority of the squares,
+ *    taken from a table of square values like LookOneAheadPlayer.VALUE_FIELD
+ *    (corners first, X-squares last).
+ *
+ * Moves are passed in as bit masks as returned by
+ * reversi.BitGameBoard.legalMoves(), squares are bit indices (see
+ * reversi.BitGameBoard.square()). An instance must not be used by more than
+ * one thread at the same time.
+ */
+public class MoveOrdering {
+
+	/* The value to pass as hash move if there is none. */
+	public static final int NO_MOVE = 64;
+
+	/*
+	 * The longest line of play there can be: 60 moves and the passes in
+	 * between. We keep killers and move lists this deep, and the searches
+	 * size their per-ply stacks by it as well.
+	 */
+	public static final int MAX_PLY = 128;
+
+	/*
+	 * The scores of the stages. The hash move beats the killers, the killers
+	 * beat every history score, and history scores are multiplied by 64 to
+	 * make room for the static priority.
+	 */
+	private static final int HASH_MOVE_SCORE = 1 << 30;
+	private static final int KILLER_SCORE = 1 << 29;
+	private static final int MAX_HISTORY = ( 1 << 22 ) - 1;
+
+	/* The static priority of every square, 63 for the best one. */
+	private final int[] staticPriority = new int[ 64 ];
+
+	/* Two killer moves per ply, the newer one first. */
+	private final int[][] killers = new int[ MAX_PLY ][ 2 ];
+
+	/* The history scores per player and square. */
+	private final int[][] history = new int[ 3 ][ 64 ];
+
+	/* The ordered moves and their scores, one list per ply. */
+	private final int[][] moveLists = new int[ MAX_PLY ][ 64 ];
+	private final int[] scores = new int[ 64 ];
+
+
+	/**
+	 * Creates a new move ordering.
+	 *
+	 * @param valueField The values of the squares, indexed [row-1][col-1]. The
+	 * greater the value, the earlier a move to this square is tried.
+	 */
+	public MoveOrdering( int[][] valueField ) {
+
+		/* Ranking the squares: Every square gets the number of squares it beats. */
+		for ( int square = 0; square < 64; square++ ) {
+			int value = valueField[ square / 8 ][ square % 8 ];
+			for ( int other = 0; other < 64; other++ ) {
+				int otherValue = valueField[ other / 8 ][ other % 8 ];
+				if ( value > otherValue || ( value == otherValue && square < other ) ) {
+					staticPriority[ square ]++;
+				}
+			}
+		}
+
+		clear();
+
+	} /* End of constructor MoveOrdering(). */
+
+
+	/**
+	 * Forgets all killers and history scores.
+	 */
+	public void clear() {
+
+		for ( int ply = 0; ply < MAX_PLY; ply++ ) {
+			killers[ ply ][ 0 ] = NO_MOVE;
+			killers[ ply ][ 1 ] = NO_MOVE;
+		}
+		for ( int player = 0; player < history.length; player++ ) {
+			java.util.Arrays.fill( history[ player ], 0 );
+		}
+
+	} /* End of clear(). */
+
+
+	/**
+	 * Prepares the data of the last search for a new one which starts the
+	 * given number of plies later in the game. The killers move up by that
+	 * many plies and the history scores are halved, so that they still help
+	 * but newer results count more.
+	 *
+	 * @param pliesPlayed The number of plies played since the last search.
+	 */
+	public void newSearch( int pliesPlayed ) {
+
+		for ( int ply = 0; ply < MAX_PLY; ply++ ) {
+			if ( ply + pliesPlayed < MAX_PLY ) {
+				killers[ ply ][ 0 ] = killers[ ply + pliesPlayed ][ 0 ];
+				killers[ ply ][ 1 ] = killers[ ply + pliesPlayed ][ 1 ];
+			} else {
+				killers[ ply ][ 0 ] = NO_MOVE;
+				killers[ ply ][ 1 ] = NO_MOVE;
+			}
+		}
+		ageHistory();
+
+	} /* End of newSearch(). */
+
+
+	/**
+	 * Orders the given moves.
+	 *
+	 * The returned array belongs to this object and is reused for the next
+	 * call with the same ply. Its first Long.bitCount( moves ) entries are
+	 * the squares of the moves, best first.
+	 *
+	 * @param moves The moves to order, one bit per move.
+	 * @param player The player to move.
+	 * @param ply The distance of the node from the root.
+	 * @param hashMove The move to try first or NO_MOVE.
+	 * @return The ordered squares.
+	 */
+	public int[] order( long moves, int player, int ply, int hashMove ) {
+
+		int[] list = moveLists[ ply ];
+		int count = 0;
+
+		while ( moves != 0 ) {
+			int square = Long.numberOfTrailingZeros( moves );
+			moves &= moves - 1;
+
+			int score;
+			if ( square == hashMove ) {
+				score = HASH_MOVE_SCORE;
+			} else if ( square == killers[ ply ][ 0 ] ) {
+				score = KILLER_SCORE + 1;
+			} else if ( square == killers[ ply ][ 1 ] ) {
+				score = KILLER_SCORE;
+			} else {
+				score = history[ player ][ square ] * 64 + staticPriority[ square ];
+			}
+
+			/* Insertion sort, the lists are short. */
+			int i = count++;
+			while ( i > 0 && scores[ i - 1 ] < score ) {
+				scores[ i ] = scores[ i - 1 ];
+				list[ i ] = list[ i - 1 ];
+				i--;
+			}
+			scores[ i ] = score;
+			list[ i ] = square;
+		}
+
+		return list;
+	} /* End of order(). */
+
+
+	/**
+	 * Records a move that caused a cutoff (or turned out to be the best one)
+	 * in a node. It becomes a killer of the ply and its history score rises.
+	 *
+	 * @param player The player who made the move.
+	 * @param ply The distance of the node from the root.
+	 * @param square The square of the move.
+	 * @param depth The remaining depth of the node. Deeper nodes count more.
+	 */
+	public void goodMove( int player, int ply, int square, int depth ) {
+
+		if ( killers[ ply ][ 0 ] != square ) {
+			killers[ ply ][ 1 ] = killers[ ply ][ 0 ];
+			killers[ ply ][ 0 ] = square;
+		}
+
+		int bonus = Math.min( depth, 2047 );
+		history[ player ][ square ] += bonus * bonus;
+		if ( history[ player ][ square ] > MAX_HISTORY ) {
+			ageHistory();
+		}
+
+	} /* End of goodMove(). */
+
+
+	/**
+	 * Halves all history scores.
+	 */
+	private void ageHistory() {
+
+		for ( int player = 0; player < history.length; player++ ) {
+			for ( int square = 0; square < 64; square++ ) {
+				history[ player ][ square ] /= 2;
+			}
+		}
+
+	} /* End of ageHistory(). */
+
+} /* End of class MoveOrdering. */
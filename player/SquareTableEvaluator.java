@@ -0,0 +1,76 @@
+package player;
+
+import reversi.BitGameBoard;
+
+
+/**
+ * Evaluates a situation by a table of square values: the values of our
+ * squares minus the values of the enemy's, like LookOneAheadPlayer does with
+ * its VALUE_FIELD. The sum is mapped to the range of an Evaluator with
+ * tanh( sum / scale ).
+ */
+public class SquareTableEvaluator implements Evaluator {
+
+	/* The scale if none is given: a sum of 10000 is worth about a corner. */
+	public static final double DEFAULT_SCALE = 10000;
+
+	/* The value of every square, indexed by bit (see BitGameBoard.square()). */
+	private final int[] values = new int[ 64 ];
+
+	/* See above. */
+	private final double scale;
+
+
+	/**
+	 * Creates an evaluator with the default scale.
+	 *
+	 * @param valueField The values of the squares, indexed [row-1][col-1].
+	 */
+	public SquareTableEvaluator( int[][] valueField ) {
+		this( valueField, DEFAULT_SCALE );
+	} /* End of constructor SquareTableEvaluator(). */
+
+
+	/**
+	 * Creates an evaluator.
+	 *
+	 * @param valueField The values of the squares, indexed [row-1][col-1].
+	 * @param scale The sum which is worth a value of tanh(1).
+	 */
+	public SquareTableEvaluator( int[][] valueField, double scale ) {
+
+		for ( int square = 0; square < 64; square++ ) {
+			values[ square ] = valueField[ square / 8 ][ square % 8 ];
+		}
+		this.scale = scale;
+
+	} /* End of constructor SquareTableEvaluator(). */
+
+
+	/**
+	 * @see player.Evaluator#evaluate(reversi.BitGameBoard, int)
+	 */
+	public double evaluate( BitGameBoard board, int player ) {
+		return Math.tanh( getSum( board.getStones( player ), board.getStones( 3 - player ) ) / scale );
+	} /* End of evaluate(). */
+
+
+	/**
+	 * @param own The stones of the player.
+	 * @param enemy The stones of the enemy.
+	 * @return The values of the player's squares minus those of the enemy's.
+	 */
+	public int getSum( long own, long enemy ) {
+
+		int sum = 0;
+		for ( ; own != 0; own &= own - 1 ) {
+			sum += values[ Long.numberOfTrailingZeros( own ) ];
+		}
+		for ( ; enemy != 0; enemy &= enemy - 1 ) {
+			sum -= values[ Long.numberOfTrailingZeros( enemy ) ];
+		}
+		return sum;
+
+	} /* End of getSum(). */
+
+} /* End of class SquareTableEvaluator. */
@@ -0,0 +1,738 @@
+package reversi;
+
+
+/**
+ * Implementation eines Reversi-Spielbretts auf der Basis von zwei 64-Bit
+ * Masken (eine fuer die roten, eine fuer die gruenen Steine). Die Klasse
+ * bietet dieselben Hilfsfunktionen wie {@link TextGameBoard}, eine Kopie
+ * kostet aber nur zwei <code>long</code>-Werte und das Zaehlen der Steine ist
+ * ein einziger Popcount.
+ *
+ * Das Feld <code>Coordinates(row, col)</code> entspricht dem Bit
+ * <code>(row - 1) * 8 + (col - 1)</code>, d.h. Bit 0 ist die linke obere
+ * Ecke und Bit 63 die rechte untere Ecke.
+ *
+ * Zusaetzlich fuehrt die Klasse einen 64-Bit Zobrist-Schluessel der
+ * Spielsituation inklusive des Spielers am Zug mit (siehe
+ * {@link #getHash()}). Er wird bei jedem Zug und jeder Zuruecknahme
+ * inkrementell nachgefuehrt.
+ *
+ * @see TextGameBoard
+ */
+public class BitGameBoard implements GameBoard
+{
+
+    // Horizontal/vertical size of the game board.
+    private static final int SIZE = 8;
+
+    // masks used to prevent shifts from wrapping around the board edges
+    private static final long NOT_A_FILE = 0xfefefefefefefefeL;
+    private static final long NOT_H_FILE = 0x7f7f7f7f7f7f7f7fL;
+
+    // the eight directions as (shift, mask) pairs, positive shifts go left
+    private static final int[] SHIFTS = { 1, 9, 8, 7, -1, -9, -8, -7 };
+    private static final long[] SHIFT_MASKS = { NOT_A_FILE, NOT_A_FILE, -1L,
+            NOT_H_FILE, NOT_H_FILE, NOT_H_FILE, -1L, NOT_A_FILE };
+
+    // one shared, immutable Coordinates instance per square
+    private static final Coordinates[] COORDINATES = new Coordinates[SIZE * SIZE];
+
+    static
+    {
+        for (int square = 0; square < SIZE * SIZE; square++)
+        {
+            COORDINATES[square] = new Coordinates(square / SIZE + 1, square
+                    % SIZE + 1);
+        }
+    }
+
+    // Zobrist keys: one random number per (color, square), the XOR of the
+    // red and green key of a square (used for flipped stones), and one for
+    // GREEN being the side to move. The seed is fixed so that keys are the
+    // same in every run (opening books, game databases).
+    private static final long[][] ZOBRIST = new long[3][SIZE * SIZE];
+    private static final long[] ZOBRIST_FLIP = new long[SIZE * SIZE];
+    private static final long ZOBRIST_GREEN_TO_MOVE;
+
+    static
+    {
+        java.util.Random random = new java.util.Random(0x5eed1ab5L);
+        for (int square = 0; square < SIZE * SIZE; square++)
+        {
+            ZOBRIST[RED][square] = random.nextLong();
+            ZOBRIST[GREEN][square] = random.nextLong();
+            ZOBRIST_FLIP[square] = ZOBRIST[RED][square]
+                    ^ ZOBRIST[GREEN][square];
+        }
+        ZOBRIST_GREEN_TO_MOVE = random.nextLong();
+    }
+
+    // maximum number of moves that can be undone, a game has at most 60
+    // moves and each of them can be followed by one pass
+    private static final int MAX_UNDO = 128;
+
+    /**
+     * Feld, mit dem auf dem Undo-Stack (und in Zugfolgen) ein Passen
+     * markiert wird.
+     */
+    public static final int PASS = -1;
+
+    // fields for the board
+    private long red, green;
+
+    // Zobrist key of the stones (without side to move) and the side to move
+    private long hash;
+    private int sideToMove = RED;
+
+    // undo stack: square and flip mask of every move done with play() or
+    // pass(), plus the key and side to move before that move
+    private final int[] undoSquares = new int[MAX_UNDO];
+    private final long[] undoFlips = new long[MAX_UNDO];
+    private final long[] undoHashes = new long[MAX_UNDO];
+    private final int[] undoSides = new int[MAX_UNDO];
+    private int undoCount = 0;
+
+    /**
+     * Erstellt eine neue Instanz von BitGameBoard, initialisiert mit der bei
+     * Reversi ueblichen Startsituation aus 4 Steinen.
+     */
+    public BitGameBoard()
+    {
+        initBoard();
+    }
+
+    /**
+     * Erstellt eine neue Instanz von BitGameBoard, die eine genaue Kopie der
+     * uebergebenen Spielsituation <code>gb</code> repraesentiert.
+     *
+     * @param gb
+     *            eine gegebene Spielsituation
+     */
+    public BitGameBoard(GameBoard gb)
+    {
+        updateBoard(gb);
+    }
+
+    public int getSize()
+    {
+        return SIZE;
+    } // getSize()
+
+    /**
+     * Gibt die Bitnummer des durch <code>c</code> beschriebenen Feldes
+     * zurueck.
+     *
+     * @param c
+     *            die Koordinaten eines Feldes auf dem Spielbrett
+     * @return die Bitnummer (0 bis 63) des Feldes, oder -1 falls
+     *         <code>c</code> keine gueltige Position beschreibt.
+     */
+    public static int square(Coordinates c)
+    {
+        if (c == null || c.getRow() < 1 || c.getRow() > SIZE || c.getCol() < 1
+                || c.getCol() > SIZE)
+        {
+            return -1;
+        }
+        return (c.getRow() - 1) * SIZE + (c.getCol() - 1);
+    } // square()
+
+    /**
+     * Gibt die Koordinaten des Feldes mit der Bitnummer <code>square</code>
+     * zurueck. Die zurueckgegebenen Instanzen werden geteilt und duerfen
+     * deshalb ohne weitere Allokation als Zug zurueckgegeben werden.
+     *
+     * @param square
+     *            eine Bitnummer von 0 bis 63
+     * @return die Koordinaten des Feldes
+     */
+    public static Coordinates coordinates(int square)
+    {
+        return COORDINATES[square];
+    } // coordinates()
+
+    /**
+     * Setzt das Spielbrett auf die bei Reversi ueblichen Startsituation aus 4
+     * Steinen zurueck (gleiche Aufstellung wie bei {@link TextGameBoard}).
+     */
+    private void initBoard()
+    {
+        red = bit(4, 4) | bit(4, 5);
+        green = bit(5, 4) | bit(5, 5);
+        sideToMove = RED;
+        hash = computeHash();
+    } // initBoard
+
+    /**
+     * Kopiert die als Parameter uebergebene Spielsituation in die aktuelle
+     * Instanz. Ist <code>gb</code> kein <code>BitGameBoard</code>, so ist
+     * danach GameBoard.RED am Zug; der Spieler am Zug kann mit
+     * {@link #setSideToMove(int)} korrigiert werden.
+     *
+     * @param gb
+     */
+    public void updateBoard(GameBoard gb)
+    {
+        undoCount = 0;
+        if (gb instanceof BitGameBoard)
+        {
+            BitGameBoard bgb = (BitGameBoard) gb;
+            red = bgb.red;
+            green = bgb.green;
+            hash = bgb.hash;
+            sideToMove = bgb.sideToMove;
+            return;
+        }
+
+        updateStones(gb);
+        sideToMove = RED;
+        hash = computeHash();
+    } // updateBoard()
+
+    /**
+     * Hilfsfunktion fuer updateBoard(). Liest die Steine eines beliebigen
+     * GameBoard ein.
+     */
+    private void updateStones(GameBoard gb)
+    {
+        red = 0;
+        green = 0;
+        if (gb instanceof TextGameBoard)
+        {
+            // no need to go through getPosition(Coordinates) here
+            TextGameBoard tgb = (TextGameBoard) gb;
+            for (int square = 0; square < SIZE * SIZE; square++)
+            {
+                setSquare(square, tgb.getPosition(square % SIZE + 1, square
+                        / SIZE + 1));
+            }
+            return;
+        }
+
+        try
+        {
+            for (int square = 0; square < SIZE * SIZE; square++)
+            {
+                setSquare(square, gb.getPosition(COORDINATES[square]));
+            }
+        }
+        catch (OutOfBoundsException e)
+        {
+            System.err.println("BitGameBoard.updateBoard: internal error");
+            e.printStackTrace();
+        }
+    } // updateStones()
+
+    /**
+     * Computes the Zobrist key of the stones from scratch. Only used when a
+     * position is set up; moves update the key incrementally.
+     */
+    private long computeHash()
+    {
+        long h = 0;
+        for (long b = red; b != 0; b &= b - 1)
+        {
+            h ^= ZOBRIST[RED][Long.numberOfTrailingZeros(b)];
+        }
+        for (long b = green; b != 0; b &= b - 1)
+        {
+            h ^= ZOBRIST[GREEN][Long.numberOfTrailingZeros(b)];
+        }
+        return h;
+    } // computeHash()
+
+    /**
+     * Gibt den Zobrist-Schluessel der Spielsituation zurueck. Zwei
+     * Spielsituationen mit denselben Steinen und demselben Spieler am Zug
+     * haben immer denselben Schluessel, unabhaengig von der Zugfolge, die zu
+     * ihnen gefuehrt hat.
+     *
+     * @return der 64-Bit Schluessel inklusive Spieler am Zug
+     */
+    public long getHash()
+    {
+        return sideToMove == GREEN ? hash ^ ZOBRIST_GREEN_TO_MOVE : hash;
+    } // getHash()
+
+    /**
+     * Gibt den Spieler zurueck, der in dieser Spielsituation am Zug ist.
+     * Nach einem Zug von <code>player</code> ist jeweils der Gegner am Zug.
+     *
+     * @return GameBoard.RED oder GameBoard.GREEN
+     */
+    public int getSideToMove()
+    {
+        return sideToMove;
+    } // getSideToMove()
+
+    /**
+     * Legt fest, welcher Spieler in dieser Spielsituation am Zug ist, z.B.
+     * nachdem eine Spielsituation aus einem <code>TextGameBoard</code>
+     * kopiert wurde.
+     *
+     * @param player
+     *            GameBoard.RED oder GameBoard.GREEN
+     */
+    public void setSideToMove(int player)
+    {
+        sideToMove = player;
+    } // setSideToMove()
+
+    /**
+     * Ermoeglicht es, ein Feld der in dieser Instanz gespeicherten
+     * Spielsituation abzufragen.
+     *
+     * @param c
+     *            die Koordinaten des Spielfelds, welches abgefragt wird.
+     * @return Entweder GameBoard.RED, GameBoard.GREEN oder GameBoard.EMPTY.
+     * @exception OutOfBoundsException
+     *                wenn sich die in <code>c<code> angegebenen Koordinaten
+     * ausserhalb des Spielfelds befinden
+     */
+    public int getPosition(Coordinates c) throws OutOfBoundsException
+    {
+        int square = square(c);
+        if (square < 0)
+        {
+            throw (new OutOfBoundsException(String.valueOf(c), c));
+        }
+        return getPosition(square);
+    } // getPosition()
+
+    /**
+     * Wie {@link #getPosition(Coordinates)}, laesst aber als Parameter die
+     * Bitnummer des Feldes zu.
+     *
+     * @param square
+     *            die Bitnummer (0 bis 63) des Feldes
+     * @return Entweder GameBoard.RED, GameBoard.GREEN oder GameBoard.EMPTY.
+     */
+    public int getPosition(int square)
+    {
+        long mask = 1L << square;
+        if ((red & mask) != 0)
+        {
+            return RED;
+        }
+        if ((green & mask) != 0)
+        {
+            return GREEN;
+        }
+        return EMPTY;
+    } // getPosition()
+
+    /**
+     * Gibt die Maske aller Steine des Spielers <code>player</code> zurueck.
+     *
+     * @param player
+     *            GameBoard.RED oder GameBoard.GREEN
+     * @return eine Maske mit einem gesetzten Bit pro Stein
+     */
+    public long getStones(int player)
+    {
+        return player == RED ? red : green;
+    } // getStones()
+
+    /**
+     * Gibt die Maske aller leeren Felder zurueck.
+     *
+     * @return eine Maske mit einem gesetzten Bit pro leerem Feld
+     */
+    public long getEmpty()
+    {
+        return ~(red | green);
+    } // getEmpty()
+
+    /**
+     * Hilfsfunktion fuer updateBoard().
+     */
+    private void setSquare(int square, int color)
+    {
+        if (color == RED)
+        {
+            red |= 1L << square;
+        }
+        else if (color == GREEN)
+        {
+            green |= 1L << square;
+        }
+    } // setSquare()
+
+    /**
+     * Hilfsfunktion fuer initBoard(). Liefert die Maske des Feldes
+     * (row, col).
+     */
+    private static long bit(int row, int col)
+    {
+        return 1L << ((row - 1) * SIZE + (col - 1));
+    } // bit()
+
+    /**
+     * Shifts all bits of <code>b</code> by one square into direction
+     * <code>dir</code> (an index into SHIFTS). Bits leaving the board are
+     * dropped.
+     */
+    private static long shift(long b, int dir)
+    {
+        int s = SHIFTS[dir];
+        return (s > 0 ? b << s : b >>> -s) & SHIFT_MASKS[dir];
+    } // shift()
+
+    /**
+     * Berechnet die Maske der Steine, die ein Zug von <code>player</code> auf
+     * das Feld <code>square</code> umdrehen wuerde. Die Methode veraendert
+     * den Zustand des Spielbretts nicht und darf deshalb beliebig mit
+     * {@link #play(int, int, long)} kombiniert werden.
+     *
+     * @param player
+     *            GameBoard.RED oder GameBoard.GREEN
+     * @param square
+     *            die Bitnummer (0 bis 63) des Feldes
+     * @return die Maske der umzudrehenden Steine, oder 0 falls der Zug nicht
+     *         gueltig ist (Feld besetzt oder es wird kein Stein umgedreht).
+     */
+    public long flips(int player, int square)
+    {
+        return flips(getStones(player), getStones(3 - player), square);
+    } // flips()
+
+    /**
+     * Wie {@link #flips(int, int)}, aber fuer eine Spielsituation, die nur
+     * aus zwei Masken besteht. Gedacht fuer Suchen, die ohne
+     * BitGameBoard-Objekt auskommen wollen.
+     *
+     * @param own
+     *            die Steine des Spielers am Zug
+     * @param other
+     *            die Steine des Gegners
+     * @param square
+     *            die Bitnummer (0 bis 63) des Feldes
+     * @return die Maske der umzudrehenden Steine, oder 0 falls der Zug nicht
+     *         gueltig ist
+     */
+    public static long flips(long own, long other, int square)
+    {
+        long move = 1L << square;
+        long flips = 0;
+
+        if (((own | other) & move) != 0)
+        {
+            return 0;
+        }
+
+        for (int dir = 0; dir < SHIFTS.length; dir++)
+        {
+            long line = 0;
+            long x = shift(move, dir);
+            while ((x & other) != 0)
+            {
+                line |= x;
+                x = shift(x, dir);
+            }
+            // the line must be closed by an own stone
+            if ((x & own) != 0)
+            {
+                flips |= line;
+            }
+        }
+        return flips;
+    } // flips()
+
+    /**
+     * Occluded fill of <code>gen</code> through the stones in
+     * <code>pro</code> into direction <code>dir</code>, done as a
+     * parallel-prefix (Kogge-Stone) fill in three shift steps. The result
+     * contains <code>gen</code> plus every stone of <code>pro</code> that is
+     * connected to <code>gen</code> along that direction.
+     */
+    private static long fill(long gen, long pro, int dir)
+    {
+        int s = SHIFTS[dir];
+        pro &= SHIFT_MASKS[dir];
+        if (s > 0)
+        {
+            gen |= pro & (gen << s);
+            pro &= pro << s;
+            gen |= pro & (gen << 2 * s);
+            pro &= pro << 2 * s;
+            gen |= pro & (gen << 4 * s);
+        }
+        else
+        {
+            s = -s;
+            gen |= pro & (gen >>> s);
+            pro &= pro >>> s;
+            gen |= pro & (gen >>> 2 * s);
+            pro &= pro >>> 2 * s;
+            gen |= pro & (gen >>> 4 * s);
+        }
+        return gen;
+    } // fill()
+
+    /**
+     * Berechnet alle gueltigen Zuege des Spielers <code>player</code> in
+     * einem Durchgang. Pro Richtung werden die eigenen Steine ueber die
+     * angrenzenden gegnerischen Steine hinweg verschoben; jedes leere Feld,
+     * das dabei direkt hinter einem gegnerischen Stein erreicht wird, ist ein
+     * gueltiger Zug.
+     *
+     * @param player
+     *            GameBoard.RED oder GameBoard.GREEN
+     * @return eine Maske mit einem gesetzten Bit pro gueltigem Zug; die
+     *         Anzahl Zuege (Mobilitaet) ist <code>Long.bitCount()</code>
+     *         dieser Maske.
+     */
+    public long legalMoves(int player)
+    {
+        return legalMoves(getStones(player), getStones(3 - player));
+    } // legalMoves()
+
+    /**
+     * Wie {@link #legalMoves(int)}, aber fuer eine Spielsituation, die nur
+     * aus zwei Masken besteht.
+     *
+     * @param own
+     *            die Steine des Spielers am Zug
+     * @param other
+     *            die Steine des Gegners
+     * @return eine Maske mit einem gesetzten Bit pro gueltigem Zug
+     */
+    public static long legalMoves(long own, long other)
+    {
+        long moves = 0;
+
+        for (int dir = 0; dir < SHIFTS.length; dir++)
+        {
+            moves |= shift(fill(own, other, dir) & other, dir);
+        }
+        return moves & ~(own | other);
+    } // legalMoves()
+
+    /**
+     * Gibt <code>true</code> zurueck, wenn ein gueltiger Zug fuer den
+     * uebergebenen Spieler existiert.
+     *
+     * @param player
+     *            Spezifiziert den Spieler (entweder GameBoard.RED oder
+     *            GameBoard.GREEN), fuer den ueberprueft werden soll.
+     *
+     * @return <code>True</code> falls ein gueltiger Zug existiert,
+     *         <code>false</code> sonst.
+     */
+    public boolean isMoveAvailable(int player)
+    {
+        return legalMoves(player) != 0;
+    } // isMoveAvailable()
+
+    /**
+     * Diese Methode ueberprueft ob der Zug <code>c</code> einen gueltigen Zug
+     * fuer den Spieler <code>player</code> darstellt.
+     *
+     * @param player
+     *            der Spieler, entweder <code>GameBoard.RED</code> or
+     *            <code>GameBoard.GREEN</code>.
+     * @param c
+     *            die Koordinaten, die ueberprueft werden sollen.
+     * @return <code>true</code>, wenn Zug gueltig
+     */
+    public boolean checkMove(int player, Coordinates c)
+    {
+        if (c == null)
+        {
+            return !isMoveAvailable(player);
+        }
+        int square = square(c);
+
+        return square >= 0 && flips(player, square) != 0;
+    } // checkMove()
+
+    /**
+     * Diese Methode setzt einen Stein fuer den angegebenen Spieler auf dem
+     * angegebenen Feld, und dreht Steine des Gegners gemaess den Regeln um.
+     * Im Gegensatz zu {@link TextGameBoard#makeMove(int, Coordinates)} muss
+     * kein Aufruf von <code>checkMove</code> vorausgehen; die Instanz haelt
+     * zwischen zwei Aufrufen keinen Zwischenzustand. Der Zug wird aber
+     * geprueft; die Suche verwendet dafuer das ungepruefte
+     * {@link #play(int, int, long)}.
+     *
+     * @param player
+     *            der Spieler fuer den ein Stein gesetzt werden soll, entweder
+     *            GameBoard.RED oder GameBoard.GREEN
+     * @param c
+     *            Koordinaten, wo der Stein gesetzt werden soll
+     * @throws UnsupportedMethodInvocationException
+     *             falls <code>c</code> ausserhalb des Spielbretts liegt oder
+     *             kein gueltiger Zug fuer <code>player</code> ist
+     */
+    public void makeMove(int player, Coordinates c)
+    {
+        if (c == null)
+        {
+            pass(player);
+            return;
+        }
+
+        int square = square(c);
+        long flips = (square < 0) ? 0 : flips(player, square);
+        if (flips == 0)
+        {
+            throw new UnsupportedMethodInvocationException(player, c);
+        }
+        play(player, square, flips);
+    } // makeMove()
+
+    /**
+     * Setzt einen Stein fuer <code>player</code> auf das Feld
+     * <code>square</code> und dreht die Steine in <code>flips</code> um.
+     * Die Maske muss zuvor mit {@link #flips(int, int)} fuer dieselbe
+     * Spielsituation berechnet worden sein; sie wird nicht noch einmal
+     * ueberprueft. Der Zug kann mit {@link #undo()} zurueckgenommen werden.
+     *
+     * @param player
+     *            GameBoard.RED oder GameBoard.GREEN
+     * @param square
+     *            die Bitnummer (0 bis 63) des Feldes
+     * @param flips
+     *            die Maske der umzudrehenden Steine
+     */
+    public void play(int player, int square, long flips)
+    {
+        push(square, flips);
+
+        long move = 1L << square;
+        if (player == RED)
+        {
+            red |= move | flips;
+            green &= ~flips;
+        }
+        else
+        {
+            green |= move | flips;
+            red &= ~flips;
+        }
+
+        hash ^= ZOBRIST[player][square];
+        for (long f = flips; f != 0; f &= f - 1)
+        {
+            hash ^= ZOBRIST_FLIP[Long.numberOfTrailingZeros(f)];
+        }
+        sideToMove = 3 - player;
+    } // play()
+
+    /**
+     * Laesst <code>player</code> passen: Die Steine bleiben unveraendert,
+     * aber danach ist der Gegner am Zug. Wie ein Zug kann auch das Passen mit
+     * {@link #undo()} zurueckgenommen werden.
+     *
+     * @param player
+     *            GameBoard.RED oder GameBoard.GREEN
+     */
+    public void pass(int player)
+    {
+        push(PASS, 0);
+        sideToMove = 3 - player;
+    } // pass()
+
+    /**
+     * Pushes a move and the current key and side to move onto the undo
+     * stack.
+     */
+    private void push(int square, long flips)
+    {
+        undoSquares[undoCount] = square;
+        undoFlips[undoCount] = flips;
+        undoHashes[undoCount] = hash;
+        undoSides[undoCount] = sideToMove;
+        undoCount++;
+    } // push()
+
+    /**
+     * Nimmt den letzten mit {@link #play(int, int, long)},
+     * {@link #pass(int)} (oder <code>makeMove</code>) gemachten Zug zurueck. Das Spielbrett wird dabei
+     * nicht kopiert, sondern mit der gespeicherten Maske der umgedrehten
+     * Steine wiederhergestellt. {@link #updateBoard(GameBoard)} leert den
+     * Stapel der zuruecknehmbaren Zuege.
+     */
+    public void undo()
+    {
+        undoCount--;
+        hash = undoHashes[undoCount];
+        sideToMove = undoSides[undoCount];
+        if (undoSquares[undoCount] == PASS)
+        {
+            return;
+        }
+
+        long move = 1L << undoSquares[undoCount];
+        long flips = undoFlips[undoCount];
+
+        // the stone on the square tells us who made the move
+        if ((red & move) != 0)
+        {
+            red &= ~(move | flips);
+            green |= flips;
+        }
+        else
+        {
+            green &= ~(move | flips);
+            red |= flips;
+        }
+    } // undo()
+
+    /**
+     * Ueberprueft, ob das Spielfeld voll ist.
+     *
+     * @return true wenn ja, false sonst.
+     */
+    public boolean isFull()
+    {
+        return (red | green) == -1L;
+    } // isFull()
+
+    /**
+     * Zaehlt die Anzahl der Steine fuer einen gegebenen Spieler.
+     *
+     * @return die Anzahl der gezaehlten Steine
+     * @param player
+     *            der Spieler
+     */
+    public int countStones(int player)
+    {
+        return Long.bitCount(getStones(player));
+    } // countStones()
+
+    /**
+     * Erstellt einen mehrzeiligen String, der eine Textdarstellung der in
+     * dieser Instanz gespeicherten Spielsituation enthaelt.
+     */
+    public String toString()
+    {
+        StringBuffer gb = new StringBuffer(" |1|2|3|4|5|6|7|8|\n");
+
+        for (int row = 0; row < SIZE; row++)
+        {
+            gb.append(row + 1);
+            for (int col = 0; col < SIZE; col++)
+            {
+                int color = getPosition(row * SIZE + col);
+                if (color == GameBoard.RED)
+                {
+                    gb.append("|r");
+                }
+                else if (color == GameBoard.GREEN)
+                {
+                    gb.append("|g");
+                }
+                else
+                {
+                    gb.append("| ");
+                }
+            }
+            gb.append("|\n");
+        }
+        gb.append("\n");
+
+        return gb.toString();
+    }
+
+} // BitGameBoard
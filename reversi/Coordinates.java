@@ -80,4 +80,14 @@ public class Coordinates
             return false;
         }
     }
+
+    /**
+     * Liefert einen Hashwert, der mit {@link #equals(Object)} konsistent
+     * ist, damit <code>Coordinates</code> z.B. als Schluessel in einer
+     * <code>Hashtable</code> verwendet werden koennen.
+     */
+    public int hashCode()
+    {
+        return row * 31 + col;
+    }
 }
@@ -416,6 +416,34 @@ public class TextGameBoard implements GameBoard
         return count;
     } // countStones()
 
+    /**
+     * Gibt die Maske aller Steine des Spielers <code>player</code> zurueck,
+     * mit einem Bit pro Feld wie bei {@link BitGameBoard#square(Coordinates)}.
+     * Liest das Spielbrett direkt, ohne ein <code>Coordinates</code>-Objekt
+     * pro Feld.
+     *
+     * @param player
+     *            GameBoard.RED oder GameBoard.GREEN
+     * @return eine Maske mit einem gesetzten Bit pro Stein
+     */
+    public long getStones(int player)
+    {
+        long stones = 0;
+
+        for (int row = 1; row < SIZE - 1; row++)
+        {
+            for (int col = 1; col < SIZE - 1; col++)
+            {
+                if (theBoard[col][row] == player)
+                {
+                    stones |= 1L << ((row - 1) * 8 + (col - 1));
+                }
+            }
+        }
+
+        return stones;
+    } // getStones()
+
     /**
      * Erstellt einen mehrzeiligen String, der eine Textdarstellung der in
      * dieser Instanz gespeicherten Spielsituation enthlt.
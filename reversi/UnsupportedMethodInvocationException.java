@@ -3,7 +3,8 @@ package reversi;
 
 /**
  * Diese Exception wird bei einem nicht untersttzten Aufruf von
- * {@link TextGameBoard#makeMove(int, Coordinates)} ausgelst. In der
+ * {@link TextGameBoard#makeMove(int, Coordinates)} ausgelst, und von
+ * {@link BitGameBoard#makeMove(int, Coordinates)} bei einem ungueltigen Zug. In der
  * gegenwrtigen Implementation von <code>TextGameBoard</code> muss einem
  * Aufruf von <code>makeMove</code> immer ein Aufruf von
  * <code>checkMove</code> mit den gleichen Koordinaten vorausgehen.
@@ -47,4 +48,20 @@ public class UnsupportedMethodInvocationException extends RuntimeException
                 + makeMoveCoord + ") aufgerufen wurde. "
                 + "Diese Benutzung wird nicht untersttzt, siehe Javadoc.");
     }
+
+    /**
+     * Erstellt eine UnsupportedMethodInvocationException fuer einen Aufruf
+     * von {@link BitGameBoard#makeMove(int, Coordinates)} mit einem Zug, der
+     * nicht gueltig ist.
+     * 
+     * @param player
+     *            der Spieler, fuer den der Zug gemacht werden sollte
+     * @param makeMoveCoord
+     *            Koordinaten die beim Aufruf von makeMove verwendet wurden
+     */
+    UnsupportedMethodInvocationException(int player, Coordinates makeMoveCoord)
+    {
+        super("Es wurde makeMove(" + player + ", " + makeMoveCoord
+                + ") aufgerufen, obwohl dies kein gueltiger Zug ist.");
+    }
 }
@@ -0,0 +1,118 @@
+package lynx;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+import java.util.Arrays;
+
+
+/**
+ * A NetBatch that uses the Vector API: as many situations as a vector
+ * register has lanes for doubles are evaluated together, one lane each.
+ *
+ * The inputs are laid out square by square (structure of arrays), so that
+ * the inputs of all lanes for one square are one vector. Each hidden unit
+ * then adds up weight * input like a Neuron, but for all lanes at once, and
+ * the tanh of the units and of the output unit are lane-wise as well.
+ * Multiplications and additions are done separately, in the order of
+ * Net.getOutput( double[] ), so the sums are exactly the ones of Net; the
+ * tanh of the Vector API may differ from Math.tanh in the last bit. The
+ * situations left over at the end of a batch are evaluated one by one.
+ *
+ * The module jdk.incubator.vector is needed to compile and to run this class,
+ * so it lives in a source directory of its own, src-vector, which the normal
+ * build leaves out. It is compiled on top of the other classes, into the same
+ * directory:
+ *
+ *   javac -d classes reversi/*.java player/*.java lynx/*.java ...
+ *   javac --add-modules jdk.incubator.vector -cp classes -d classes src-vector/lynx/VectorNetBatch.java
+ *   java --add-modules jdk.incubator.vector -cp classes ...
+ *
+ * Without this class, or without the module at run time, NetBatch.create()
+ * falls back to the scalar NetBatch.
+ */
+final class VectorNetBatch extends NetBatch {
+
+	/* The vectors the CPU is best at, and the number of situations in one. */
+	private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+	private static final int LANES = SPECIES.length();
+
+	/* The weights of the hidden units, [unit][square]. */
+	private static final double[][] WEIGHTS = Net.getHiddenUnitWeights();
+
+	/* The inputs of the current lanes, [square * LANES + lane]. */
+	private final double[] inputs = new double[ 64 * LANES ];
+
+
+	/**
+	 * Evaluates situations given as bitboards, see Net.getOutput( long, long ).
+	 *
+	 * @param own The stones whose view the answers are from, per situation.
+	 * @param enemy The stones of the other player, per situation.
+	 * @param count The number of situations.
+	 * @param out Gets the answers, in the same order as the situations.
+	 */
+	@Override
+	public void evaluate( long[] own, long[] enemy, int count, double[] out ) {
+
+		int first = 0;
+		for ( ; first + LANES <= count; first += LANES ) {
+			evaluateLanes( own, enemy, first, out );
+		}
+		for ( ; first < count; first++ ) {
+			out[ first ] = net.getOutput( own[ first ], enemy[ first ] );
+		}
+
+	} /* End of evaluate(). */
+
+
+	/**
+	 * Evaluates LANES situations at once.
+	 *
+	 * @param first The index of the first one.
+	 */
+	private void evaluateLanes( long[] own, long[] enemy, int first, double[] out ) {
+
+		/* Spreading the stones over the inputs, 1 for own ones, -1 for the enemy's. */
+		Arrays.fill( inputs, 0 );
+		for ( int lane = 0; lane < LANES; lane++ ) {
+			for ( long stones = own[ first + lane ]; stones != 0; stones &= stones - 1 ) {
+				inputs[ Long.numberOfTrailingZeros( stones ) * LANES + lane ] = 1;
+			}
+			for ( long stones = enemy[ first + lane ]; stones != 0; stones &= stones - 1 ) {
+				inputs[ Long.numberOfTrailingZeros( stones ) * LANES + lane ] = -1;
+			}
+		}
+
+		DoubleVector sumOne = DoubleVector.zero( SPECIES );
+		DoubleVector sumTwo = DoubleVector.zero( SPECIES );
+		DoubleVector sumThree = DoubleVector.zero( SPECIES );
+		DoubleVector sumFour = DoubleVector.zero( SPECIES );
+		for ( int square = 0; square < 64; square++ ) {
+			DoubleVector input = DoubleVector.fromArray( SPECIES, inputs, square * LANES );
+			sumOne = sumOne.add( input.mul( WEIGHTS[ 0 ][ square ] ) );
+			sumTwo = sumTwo.add( input.mul( WEIGHTS[ 1 ][ square ] ) );
+			sumThree = sumThree.add( input.mul( WEIGHTS[ 2 ][ square ] ) );
+			sumFour = sumFour.add( input.mul( WEIGHTS[ 3 ][ square ] ) );
+		}
+
+		/* The output unit, like in Net.getOutput( long, long ). */
+		DoubleVector linearComb = DoubleVector.zero( SPECIES );
+		linearComb = linearComb.add( hiddenUnit( sumOne ).mul( Net.outputWeight ) );
+		linearComb = linearComb.add( hiddenUnit( sumTwo ).mul( Net.outputWeight ) );
+		linearComb = linearComb.add( hiddenUnit( sumThree ).mul( Net.outputWeight ) );
+		linearComb = linearComb.add( hiddenUnit( sumFour ).mul( Net.outputWeight ) );
+		linearComb.add( Net.outputBias ).lanewise( VectorOperators.TANH ).intoArray( out, first );
+
+	} /* End of evaluateLanes(). */
+
+
+	/**
+	 * @return The answers of a hidden unit to the given sums.
+	 */
+	private static DoubleVector hiddenUnit( DoubleVector sum ) {
+		return sum.add( Net.hiddenUnitBias ).lanewise( VectorOperators.TANH );
+	} /* End of hiddenUnit(). */
+
+} /* End of class VectorNetBatch. */
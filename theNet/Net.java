@@ -4,6 +4,7 @@
 package theNet;
 
 import java.util.Random;
+import lynx.Tanh;
 
 /**
  * Implements a net of the structure described in [1]. Its purpose is to
@@ -24,6 +25,12 @@ public class Net {
 	private Neuron hiddenUnitFour;
 	private Neuron outputUnit;
 	
+	/* The weight vectors of the four hidden units, for getOutput( long, long ). */
+	private final double[][] inputWeights;
+	
+	/* Whether the neurons use Tanh.fast() instead of Math.tanh(). */
+	private final boolean fastTanh;
+	
 	/* Constants. */
 	private final static int INPUT_LENGTH = 64;
 	
@@ -47,16 +54,30 @@ public class Net {
 	 * Creates a new Net of the structure described in [1].
 	 */
 	public Net() {
+		this( false );
+	} /* End of constructor Net(). */
+	
+	
+	/**
+	 * Creates a new Net of the structure described in [1].
+	 * 
+	 * @param fastTanh If true, the neurons use Tanh.fast() instead of
+	 * Math.tanh().
+	 */
+	public Net( boolean fastTanh ) {
+		
+		this.fastTanh = fastTanh;
+		inputWeights = new double[][] { getWeightVectorOne(), getWeightVectorTwo(), getWeightVectorThree(), getWeightVectorFour() };
 		
 		/* Creating the four hidden units. */
-		hiddenUnitOne = new Neuron( getWeightVectorOne(), hiddenUnitBias );
-		hiddenUnitTwo = new Neuron( getWeightVectorTwo(), hiddenUnitBias );
-		hiddenUnitThree = new Neuron( getWeightVectorThree(), hiddenUnitBias );
-		hiddenUnitFour = new Neuron( getWeightVectorFour(), hiddenUnitBias );
+		hiddenUnitOne = new Neuron( inputWeights[ 0 ], hiddenUnitBias, fastTanh );
+		hiddenUnitTwo = new Neuron( inputWeights[ 1 ], hiddenUnitBias, fastTanh );
+		hiddenUnitThree = new Neuron( inputWeights[ 2 ], hiddenUnitBias, fastTanh );
+		hiddenUnitFour = new Neuron( inputWeights[ 3 ], hiddenUnitBias, fastTanh );
 		
 		/* Creating the output neuron. */
 		double [] opw = {outputWeight, outputWeight, outputWeight, outputWeight};
-		outputUnit = new Neuron( opw, outputBias );
+		outputUnit = new Neuron( opw, outputBias, fastTanh );
 		
 	} /* End of constructor Net(). */
 	
@@ -76,6 +97,57 @@ public class Net {
 	} /* End of getOutput(). */
 	
 	
+	/**
+	 * Calculates the answer of the net to a situation given as bitboards (see
+	 * reversi.BitGameBoard), with stones of the one player as inputs of 1 and
+	 * stones of the other one as inputs of -1. This is the same as
+	 * getOutput( double[] ) with such an input vector, to the last bit, but
+	 * it doesn't need an input vector, allocates nothing and can't fail.
+	 * Empty squares add 0 to the sums and are left out, see the method of the
+	 * same name in lynx.Net.
+	 * 
+	 * @param own The stones whose view the answer is from.
+	 * @param enemy The stones of the other player.
+	 * @return The answer of the net to that situation.
+	 */
+	public double getOutput( long own, long enemy ) {
+		
+		double sumOne = 0;
+		double sumTwo = 0;
+		double sumThree = 0;
+		double sumFour = 0;
+		
+		for ( long stones = own | enemy; stones != 0; stones &= stones - 1 ) {
+			int square = Long.numberOfTrailingZeros( stones );
+			double input = ( ( own >>> square ) & 1 ) * 2 - 1;
+			sumOne = sumOne + ( inputWeights[ 0 ][ square ] * input );
+			sumTwo = sumTwo + ( inputWeights[ 1 ][ square ] * input );
+			sumThree = sumThree + ( inputWeights[ 2 ][ square ] * input );
+			sumFour = sumFour + ( inputWeights[ 3 ][ square ] * input );
+		}
+		
+		/* The output unit adds up its inputs in the same order. */
+		double linearComb = 0;
+		linearComb = linearComb + ( outputWeight * tanh( sumOne + hiddenUnitBias ) );
+		linearComb = linearComb + ( outputWeight * tanh( sumTwo + hiddenUnitBias ) );
+		linearComb = linearComb + ( outputWeight * tanh( sumThree + hiddenUnitBias ) );
+		linearComb = linearComb + ( outputWeight * tanh( sumFour + hiddenUnitBias ) );
+		return tanh( linearComb + outputBias );
+		
+	} /* End of getOutput(). */
+	
+	
+	/**
+	 * The hyperbolic tangent the neurons of this net use.
+	 * 
+	 * @param x The argument.
+	 * @return Math.tanh(x) or Tanh.fast(x).
+	 */
+	private double tanh( double x ) {
+		return fastTanh ? Tanh.fast( x ) : Math.tanh( x );
+	} /* End of tanh(). */
+	
+	
 	/**
 	 * This generates the 64-elemet vector containing the weights
 	 * used by hiddenUnitOne out of the hiddenUnitWeights-matrix.
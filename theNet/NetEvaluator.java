@@ -0,0 +1,54 @@
+/**
+ * This contains the Evaluator of the reversi player "The Net".
+ */
+package theNet;
+
+import player.Evaluator;
+import reversi.BitGameBoard;
+import reversi.GameBoard;
+
+/**
+ * The net of The Net (see Net.java) as an Evaluator for the search players.
+ * 
+ * The net itself answers from the view of RED, so its answer is negated
+ * for GREEN. TheNet plays with this evaluator, too.
+ * 
+ * @see theNet.Net
+ */
+public class NetEvaluator implements Evaluator {
+	
+	/* Our artificial neural network. getOutput( long, long ) changes nothing, so threads may share it. */
+	private final Net myNet;
+	
+	
+	/**
+	 * Creates an evaluator with Math.tanh().
+	 */
+	public NetEvaluator() {
+		this( false );
+	} /* End of constructor NetEvaluator(). */
+	
+	
+	/**
+	 * Creates an evaluator.
+	 * 
+	 * @param fastTanh If true, the neurons use Tanh.fast() instead of
+	 * Math.tanh().
+	 */
+	public NetEvaluator( boolean fastTanh ) {
+		myNet = new Net( fastTanh );
+	} /* End of constructor NetEvaluator(). */
+	
+	
+	/**
+	 * @see player.Evaluator#evaluate(reversi.BitGameBoard, int)
+	 */
+	public double evaluate( BitGameBoard board, int player ) {
+		
+		/* The inputs: 1 for RED, -1 for GREEN, row by row like the bits. */
+		double output = myNet.getOutput( board.getStones( GameBoard.RED ), board.getStones( GameBoard.GREEN ) );
+		return ( player == GameBoard.RED ) ? output : -output;
+		
+	} /* End of evaluate(). */
+
+} /* End of class NetEvaluator. */
@@ -4,6 +4,7 @@
 package theNet;
 
 import java.util.Random;
+import lynx.Tanh;
 
 /**
  * This class represents a *basic* artificial neuron, and is used by
@@ -19,6 +20,7 @@ public class Neuron {
 	
 	private double[] weights;
 	private double bias;
+	private boolean fastTanh;
 	
 	
 	/**
@@ -28,8 +30,22 @@ public class Neuron {
 	 * @param bias 
 	 */
 	public Neuron( double[] weights, double bias ) {
+		this( weights, bias, false );
+	} /* End of constructor Neuron(). */
+	
+	
+	/**
+	 * Constructs a new neuron using a specified vector with the weights.
+	 * 
+	 * @param weights
+	 * @param bias 
+	 * @param fastTanh If true, the neuron uses Tanh.fast() instead of
+	 * Math.tanh().
+	 */
+	public Neuron( double[] weights, double bias, boolean fastTanh ) {
 		this.weights = weights;
 		this.bias = bias;
+		this.fastTanh = fastTanh;
 	} /* End of constructor Neuron(). */
 	
 	
@@ -69,7 +85,11 @@ public class Neuron {
 		 */
 		
 		/* It has to be a hyperbolic tangent function. */
-		result = Math.tanh(linearComb + bias );
+		if ( fastTanh ) {
+			result = Tanh.fast( linearComb + bias );
+		} else {
+			result = Math.tanh(linearComb + bias );
+		}
 		
 		return result;
 	} /* End of getOutput(). */
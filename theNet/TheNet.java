@@ -12,7 +12,8 @@ import reversi.*;
 /**
  * This is a reversi player that uses the class Net as an
  * artificial neural network (ANN) in order to implement its evaluation
- * function. See Net.java for details.
+ * function. See Net.java for details. It evaluates through NetEvaluator,
+ * like the search players that are given our net.
  * 
  * @author Jonas Huber
  * @author Benedikt Koeppel
@@ -31,8 +32,11 @@ public class TheNet extends Player {
 	 */
 	private final static double EPSILON = 0.0;
 	
-	/* Our artificial neural network. */
-	private Net myNet;
+	/* Our artificial neural network, as an evaluation function. */
+	private NetEvaluator netEvaluator;
+	
+	/* The board the net gets the situations on. */
+	private final BitGameBoard bitBoard = new BitGameBoard();
 	
 	
 	/**
@@ -46,8 +50,11 @@ public class TheNet extends Player {
 		
 		super.initialize(color, timeout);
 		
-		/* Initialize our neural net. */
-		myNet = new Net();
+		/*
+		 * Initialize our neural net. With -DtheNet.tanh=fast its neurons use
+		 * the faster, but a bit less exact, Tanh.fast() of Lynx (see lynx.Tanh).
+		 */
+		netEvaluator = new NetEvaluator( "fast".equals( System.getProperty( "theNet.tanh" ) ) );
 		
 	} /* End of initialize(). */
 
@@ -133,14 +140,8 @@ public class TheNet extends Player {
 					 * the resulting situation on the board.
 					 */
 					boardAfterNextMove.makeMove( color, coord );
-					try {
-						
-						eval = myNet.getOutput( genInputVector( boardAfterNextMove ) );
-					
-					} catch ( Exception e ) {
-						System.out.println("(EE) Error within Net.getOutput: ");
-						System.out.println( e.getMessage() );
-					}
+					bitBoard.updateBoard( boardAfterNextMove );
+					eval = netEvaluator.evaluate( bitBoard, GameBoard.RED );
 					
 					/* 
 					 * Is this move better than another we tried before?
@@ -200,48 +201,5 @@ public class TheNet extends Player {
 		return result;
 		
 	} /* End of nextMove(). */
-	
-	
-	/**
-	 * Generates an vector of the current situation of the board so that it
-	 * can be processed by the neural network.
-	 * 
-	 * @param tgb The situation to transform.
-	 * @return A vector containing the current situation on the board.
-	 */
-	private double[] genInputVector( TextGameBoard tgb ) {
-		
-		int index = 0;
-		double [] result = new double[ 64 ];
-		
-		int testField = 0;
-		
-		for ( int row = 1; row <= 8; row++ ) {
-			for (int col = 1; col <= 8; col++ ) {
-				try {
-					testField = tgb.getPosition( new Coordinates(row, col) );
-				} catch ( OutOfBoundsException e ) {
-					/* This should not happen! */
-					System.out.println( e.getMessage() );
-					e.printStackTrace();
-				}
-				
-				/*
-				 * Note: Black corresponds to RED, and white to GREEN. The network produces
-				 * an output that is bigger if the situation is good for black/RED and an 
-				 * smaller (negative) value if it is a good situation for white/GREEN.
-				 */
-				if ( testField == GameBoard.RED ) {
-					result[index] = 1;
-				} else if ( testField == GameBoard.EMPTY ) {
-					result[index] = 0;
-				} else {
-					result[index] = -1;
-				}
-				index++;
-			}
-		}
-		return result;
-	} /* End of genInputVector(). */
 
 } /* End of class TheNet. */